@@ -18,6 +18,7 @@ import android.view.MenuItem;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.samsistemas.calendarview.widget.CalendarStrictMode;
 import com.samsistemas.calendarview.widget.CalendarView;
 import com.samsistemas.calendarview.widget.DayView;
 
@@ -34,6 +35,15 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+
+        if (BuildConfig.DEBUG) {
+            CalendarStrictMode.enable(new CalendarStrictMode.Policy.Builder()
+                    .setFrameBudget(16)
+                    .setAllocationThreshold(2000)
+                    .penaltyLog()
+                    .build());
+        }
+
         setContentView(R.layout.activity_main);
         Toolbar toolbar = (Toolbar) findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
@@ -62,26 +72,34 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         NavigationView navigationView = (NavigationView) findViewById(R.id.nav_view);
         navigationView.setNavigationItemSelectedListener(this);
 
-        List<Date> events = new ArrayList<>();
+        calendarView = (CalendarView) findViewById(R.id.calendar_view);
 
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.DAY_OF_MONTH, 10);
-        events.add(cal.getTime());
+        final CalendarView.Editor editor = calendarView.edit()
+                .setFirstDayOfWeek(Calendar.MONDAY)
+                .setIsOverflowDateVisible(true);
 
-        Calendar cal1 = Calendar.getInstance();
-        cal1.set(Calendar.DAY_OF_MONTH, 25);
-        events.add(cal1.getTime());
+        // Reuse the events indexed before a configuration change..
+        final CalendarView.RetainedModel model = (CalendarView.RetainedModel) getLastCustomNonConfigurationInstance();
+        if (null != model) {
+            calendarView.setRetainedModel(model);
+        } else {
+            List<Date> events = new ArrayList<>();
 
-        calendarView = (CalendarView) findViewById(R.id.calendar_view);
+            Calendar cal = Calendar.getInstance();
+            cal.set(Calendar.DAY_OF_MONTH, 10);
+            events.add(cal.getTime());
 
-        calendarView.setEventDates(events);
+            Calendar cal1 = Calendar.getInstance();
+            cal1.set(Calendar.DAY_OF_MONTH, 25);
+            events.add(cal1.getTime());
+
+            editor.setEventDates(events);
+        }
+
+        editor.apply();
 
-        calendarView.setFirstDayOfWeek(Calendar.MONDAY);
-        calendarView.setIsOverflowDateVisible(true);
-        calendarView.setCurrentDay(new Date(System.currentTimeMillis()));
         calendarView.setBackButtonColor(R.color.colorAccent);
         calendarView.setNextButtonColor(R.color.colorAccent);
-        calendarView.refreshCalendar(Calendar.getInstance(Locale.getDefault()));
         calendarView.setOnDateLongClickListener(new CalendarView.OnDateLongClickListener() {
             @Override
             public void onDateLongClick(@NonNull Date selectedDate) {
@@ -111,6 +129,11 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
             Toast.makeText(getApplicationContext(), "Today is: " + dayView.getText().toString() + "/" + calendarView.getCurrentMonth() + "/" + calendarView.getCurrentYear(), Toast.LENGTH_SHORT).show();
     }
 
+    @Override
+    public Object onRetainCustomNonConfigurationInstance() {
+        return calendarView.getRetainedModel();
+    }
+
     @Override
     public void onBackPressed() {
         DrawerLayout drawer = (DrawerLayout) findViewById(R.id.drawer_layout);
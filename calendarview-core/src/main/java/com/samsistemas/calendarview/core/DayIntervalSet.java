@@ -0,0 +1,128 @@
+package com.samsistemas.calendarview.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of days, made of days of the week, e.g. every Sunday, and of ranges of
+ * epoch days. Ranges are sorted and merged when the set is built, so testing a day takes a
+ * mask check and a binary search, in O(log n).
+ */
+public final class DayIntervalSet {
+    public static final DayIntervalSet EMPTY = new DayIntervalSet(0, new int[0], new int[0]);
+
+    // Bit dayOfWeek - 1 set for the days of the week in the set..
+    private final int mDaysOfWeek;
+    // Disjoint, non adjacent ranges in ascending order, from mFirstDays[i] to mLastDays[i]..
+    private final int[] mFirstDays;
+    private final int[] mLastDays;
+
+    private DayIntervalSet(int daysOfWeek, int[] firstDays, int[] lastDays) {
+        mDaysOfWeek = daysOfWeek;
+        mFirstDays = firstDays;
+        mLastDays = lastDays;
+    }
+
+    /**
+     * @param epochDay - the day to test.
+     * @return true if the day is in the set.
+     */
+    public boolean contains(int epochDay) {
+        if ((mDaysOfWeek & (1 << (EpochDays.getDayOfWeek(epochDay) - 1))) != 0) {
+            return true;
+        }
+
+        // Last range starting on or before the day..
+        int low = 0;
+        int high = mFirstDays.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (mFirstDays[middle] <= epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high >= 0 && epochDay <= mLastDays[high];
+    }
+
+    /**
+     * @param dayOfWeek - the day of the week, from Calendar.SUNDAY to Calendar.SATURDAY.
+     * @return true if every such day of the week is in the set.
+     */
+    public boolean containsDayOfWeek(int dayOfWeek) {
+        return (mDaysOfWeek & (1 << (dayOfWeek - 1))) != 0;
+    }
+
+    /**
+     * @return the number of ranges left after merging.
+     */
+    public int getRangeCount() {
+        return mFirstDays.length;
+    }
+
+    public boolean isEmpty() {
+        return mDaysOfWeek == 0 && mFirstDays.length == 0;
+    }
+
+    /**
+     * Builder of a {@link DayIntervalSet}, ranges may be added in any order and overlap.
+     */
+    public static final class Builder {
+        private int mDaysOfWeek;
+        private long[] mRanges = new long[16];
+        private int mRangeCount;
+
+        /**
+         * @param dayOfWeek - the day of the week, from Calendar.SUNDAY to Calendar.SATURDAY.
+         */
+        public Builder addDayOfWeek(int dayOfWeek) {
+            if (dayOfWeek < 1 || dayOfWeek > 7) {
+                throw new IllegalArgumentException("Invalid day of the week: " + dayOfWeek);
+            }
+            mDaysOfWeek |= 1 << (dayOfWeek - 1);
+            return this;
+        }
+
+        public Builder addDay(int epochDay) {
+            return addRange(epochDay, epochDay);
+        }
+
+        /**
+         * @param firstEpochDay - the first day of the range.
+         * @param lastEpochDay  - the last day of the range, included.
+         */
+        public Builder addRange(int firstEpochDay, int lastEpochDay) {
+            if (lastEpochDay < firstEpochDay) {
+                throw new IllegalArgumentException("Range ends before it starts: " + firstEpochDay + " > " + lastEpochDay);
+            }
+            if (mRangeCount == mRanges.length) {
+                mRanges = Arrays.copyOf(mRanges, mRangeCount * 2);
+            }
+            // Sorting the packed ranges sorts them by their first day..
+            mRanges[mRangeCount++] = ((long) firstEpochDay << 32) | (lastEpochDay & 0xFFFFFFFFL);
+            return this;
+        }
+
+        public DayIntervalSet build() {
+            final long[] ranges = Arrays.copyOf(mRanges, mRangeCount);
+            Arrays.sort(ranges);
+
+            final int[] firstDays = new int[ranges.length];
+            final int[] lastDays = new int[ranges.length];
+            int count = 0;
+            for (long range : ranges) {
+                final int first = (int) (range >> 32);
+                final int last = (int) range;
+                if (count > 0 && first <= (long) lastDays[count - 1] + 1) {
+                    // Overlapping or adjacent, extend the previous range..
+                    lastDays[count - 1] = Math.max(lastDays[count - 1], last);
+                } else {
+                    firstDays[count] = first;
+                    lastDays[count] = last;
+                    count++;
+                }
+            }
+            return new DayIntervalSet(mDaysOfWeek, Arrays.copyOf(firstDays, count), Arrays.copyOf(lastDays, count));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.samsistemas.calendarview.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable secondary labels of a run of consecutive days, e.g. prices or free seats shown
+ * under the day numbers. Values are formatted once, when the labels are built, and equal
+ * values share the same string, so showing the labels does no string work at all.
+ */
+public final class DayLabels {
+
+    /**
+     * Value of the days without a label, in int values. Float values use NaN.
+     */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * Interface used to format the values of the days.
+     */
+    public interface Formatter {
+
+        /**
+         * @param value - the value of a day, never {@link #NO_VALUE} nor NaN.
+         * @return the label of the day.
+         */
+        String format(double value);
+    }
+
+    private final int mFirstEpochDay;
+    private final String[] mLabels;
+
+    private DayLabels(int firstEpochDay, String[] labels) {
+        mFirstEpochDay = firstEpochDay;
+        mLabels = labels;
+    }
+
+    /**
+     * @param firstEpochDay - the day of the first label.
+     * @param labels        - the label of each day from the first, null for none.
+     * @return the labels of the days.
+     */
+    public static DayLabels of(int firstEpochDay, String[] labels) {
+        final String[] shared = new String[labels.length];
+        final Map<String, String> distinct = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            if (null != labels[i]) {
+                String label = distinct.get(labels[i]);
+                if (null == label) {
+                    label = labels[i];
+                    distinct.put(label, label);
+                }
+                shared[i] = label;
+            }
+        }
+        return new DayLabels(firstEpochDay, shared);
+    }
+
+    /**
+     * @param firstEpochDay - the day of the first value.
+     * @param values        - the value of each day from the first, {@link #NO_VALUE} for none.
+     * @param formatter     - the formatter, called once per distinct value.
+     * @return the labels of the days.
+     */
+    public static DayLabels of(int firstEpochDay, int[] values, Formatter formatter) {
+        final String[] labels = new String[values.length];
+        final Map<Integer, String> distinct = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != NO_VALUE) {
+                String label = distinct.get(values[i]);
+                if (null == label) {
+                    label = formatter.format(values[i]);
+                    distinct.put(values[i], label);
+                }
+                labels[i] = label;
+            }
+        }
+        return new DayLabels(firstEpochDay, labels);
+    }
+
+    /**
+     * @param firstEpochDay - the day of the first value.
+     * @param values        - the value of each day from the first, NaN for none.
+     * @param formatter     - the formatter, called once per distinct value.
+     * @return the labels of the days.
+     */
+    public static DayLabels of(int firstEpochDay, float[] values, Formatter formatter) {
+        final String[] labels = new String[values.length];
+        final Map<Float, String> distinct = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!Float.isNaN(values[i])) {
+                String label = distinct.get(values[i]);
+                if (null == label) {
+                    label = formatter.format(values[i]);
+                    distinct.put(values[i], label);
+                }
+                labels[i] = label;
+            }
+        }
+        return new DayLabels(firstEpochDay, labels);
+    }
+
+    public int getFirstEpochDay() {
+        return mFirstEpochDay;
+    }
+
+    public int getDayCount() {
+        return mLabels.length;
+    }
+
+    /**
+     * @param epochDay - the day to look up.
+     * @return the label of the day, or null if it has none.
+     */
+    public String getLabel(int epochDay) {
+        final long index = (long) epochDay - mFirstEpochDay;
+        return index >= 0 && index < mLabels.length ? mLabels[(int) index] : null;
+    }
+}
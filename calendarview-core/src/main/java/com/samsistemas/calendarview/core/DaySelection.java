@@ -0,0 +1,52 @@
+package com.samsistemas.calendarview.core;
+
+/**
+ * Single day selection of the calendar, kept as an epoch day.
+ */
+public final class DaySelection {
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private int mEpochDay = NONE;
+
+    /**
+     * Selects the given day, replacing the previous selection.
+     *
+     * @param epochDay - the epoch day to select.
+     * @return the epoch day selected before, or {@link #NONE}.
+     */
+    public int select(int epochDay) {
+        final int previous = mEpochDay;
+        mEpochDay = epochDay;
+        return previous;
+    }
+
+    public void clear() {
+        mEpochDay = NONE;
+    }
+
+    public boolean hasSelection() {
+        return mEpochDay != NONE;
+    }
+
+    /**
+     * @return the selected epoch day, or {@link #NONE}.
+     */
+    public int getSelectedEpochDay() {
+        return mEpochDay;
+    }
+
+    public boolean isSelected(int epochDay) {
+        return mEpochDay != NONE && mEpochDay == epochDay;
+    }
+
+    /**
+     * @param year  - the year.
+     * @param month - the month, from 0 to 11.
+     * @return true if the selected day falls in the given month.
+     */
+    public boolean isInMonth(int year, int month) {
+        return mEpochDay != NONE &&
+                EpochDays.getYear(mEpochDay) == year &&
+                EpochDays.getMonth(mEpochDay) == month;
+    }
+}
@@ -0,0 +1,98 @@
+package com.samsistemas.calendarview.core;
+
+import java.util.Calendar;
+
+/**
+ * Arithmetic over epoch days, the number of days since 1970-01-01 in the proleptic
+ * Gregorian calendar. Months are zero based, as in {@link Calendar#MONTH}.
+ */
+public final class EpochDays {
+
+    private EpochDays() {
+    }
+
+    /**
+     * @param year       - the year.
+     * @param month      - the month, from 0 to 11.
+     * @param dayOfMonth - the day of the month, from 1.
+     * @return the epoch day of the given date.
+     */
+    public static int of(int year, int month, int dayOfMonth) {
+        final int m = month + 1;
+        final int y = m <= 2 ? year - 1 : year;
+        final int era = (y >= 0 ? y : y - 399) / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + dayOfMonth - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * @param calendar - the calendar to read the date from, in its own time zone.
+     * @return the epoch day of the calendar date.
+     */
+    public static int of(Calendar calendar) {
+        return of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Sets the date of the calendar to the given epoch day, keeping its time of day.
+     *
+     * @param calendar - the calendar to change.
+     * @param epochDay - the epoch day to set.
+     */
+    public static void set(Calendar calendar, int epochDay) {
+        calendar.set(getYear(epochDay), getMonth(epochDay), getDayOfMonth(epochDay));
+    }
+
+    /**
+     * @param epochDay - the epoch day.
+     * @return the day of the week, from {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}.
+     */
+    public static int getDayOfWeek(int epochDay) {
+        // 1970-01-01 was a Thursday
+        return floorMod(epochDay + 4, 7) + 1;
+    }
+
+    public static int getYear(int epochDay) {
+        final int z = epochDay + 719468;
+        final int era = (z >= 0 ? z : z - 146096) / 146097;
+        final int dayOfEra = z - era * 146097;
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int m = getMonth(epochDay) + 1;
+        return yearOfEra + era * 400 + (m <= 2 ? 1 : 0);
+    }
+
+    public static int getMonth(int epochDay) {
+        final int mp = (5 * getDayOfYearFromMarch(epochDay) + 2) / 153;
+        return (mp < 10 ? mp + 3 : mp - 9) - 1;
+    }
+
+    public static int getDayOfMonth(int epochDay) {
+        final int dayOfYear = getDayOfYearFromMarch(epochDay);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        return dayOfYear - (153 * mp + 2) / 5 + 1;
+    }
+
+    /**
+     * @param year  - the year.
+     * @param month - the month, from 0 to 11.
+     * @return the number of days of the given month.
+     */
+    public static int getDaysInMonth(int year, int month) {
+        return month == 11 ? 31 : of(year, month + 1, 1) - of(year, month, 1);
+    }
+
+    public static int floorMod(int x, int y) {
+        final int mod = x % y;
+        return mod < 0 ? mod + y : mod;
+    }
+
+    private static int getDayOfYearFromMarch(int epochDay) {
+        final int z = epochDay + 719468;
+        final int era = (z >= 0 ? z : z - 146096) / 146097;
+        final int dayOfEra = z - era * 146097;
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+}
@@ -0,0 +1,221 @@
+package com.samsistemas.calendarview.core;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Sorted set of event days, optionally with a category byte per day, read straight from a
+ * compact binary file. Mapping the file costs no parsing and no heap, so the days of the
+ * last run are available as soon as the app starts.
+ * <p>
+ * The format is big endian:
+ * <pre>
+ * header     : int magic "EVDY", short version, short flags (1 = categories), int day count
+ * days       : day count ints, the epoch days in ascending order without duplicates
+ * categories : day count bytes, only with the categories flag
+ * </pre>
+ * Files are replaced atomically by {@link #write(File, int[], byte[])}, so a reader maps
+ * either the old or the new file, never a partial one.
+ */
+public final class EventDayFile {
+    static final int MAGIC = 0x45564459;
+    static final int VERSION = 1;
+    static final int FLAG_CATEGORIES = 1;
+    static final int HEADER_SIZE = 12;
+
+    /**
+     * Category of the days of a file without categories.
+     */
+    public static final int NO_CATEGORY = -1;
+
+    private final ByteBuffer mData;
+    private final int mCount;
+    private final boolean mHasCategories;
+
+    private EventDayFile(ByteBuffer data, int count, boolean hasCategories) {
+        mData = data;
+        mCount = count;
+        mHasCategories = hasCategories;
+    }
+
+    /**
+     * @param buffer - the file contents, from its position to its limit. The buffer must
+     *               not change while the days are in use.
+     * @return the event days of the buffer.
+     * @throws IOException if the buffer is not an event day file or is truncated.
+     */
+    public static EventDayFile read(ByteBuffer buffer) throws IOException {
+        final ByteBuffer data = buffer.slice();
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an event day file");
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IOException("Unsupported event day file version " + data.getShort(4));
+        }
+
+        final boolean hasCategories = (data.getShort(6) & FLAG_CATEGORIES) != 0;
+        final int count = data.getInt(8);
+        final long size = HEADER_SIZE + (long) count * (hasCategories ? 5 : 4);
+        if (count < 0 || size > data.limit()) {
+            throw new IOException("Truncated event day file");
+        }
+        return new EventDayFile(data, count, hasCategories);
+    }
+
+    /**
+     * Maps the given file read-only. The mapping stays valid after the file is replaced.
+     *
+     * @param file - the file written by {@link #write(File, int[], byte[])}.
+     * @return the event days of the file.
+     * @throws IOException if the file cannot be mapped or is not an event day file.
+     */
+    public static EventDayFile map(File file) throws IOException {
+        final RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = in.getChannel();
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the given days to a temporary file next to the target, syncs it and renames it
+     * over the target, so the target is replaced atomically.
+     *
+     * @param file       - the file to write.
+     * @param epochDays  - the epoch days, in ascending order without duplicates.
+     * @param categories - a category per day, or null for none.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(File file, int[] epochDays, byte[] categories) throws IOException {
+        final byte[] data = encode(epochDays, categories);
+
+        final File temporary = new File(file.getPath() + ".tmp");
+        final FileOutputStream out = new FileOutputStream(temporary);
+        try {
+            out.write(data);
+            out.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            throw new IOException("Cannot replace " + file);
+        }
+    }
+
+    /**
+     * @param epochDays  - the epoch days, in ascending order without duplicates.
+     * @param categories - a category per day, or null for none.
+     * @return the given days in memory, as they would be read from a file.
+     */
+    public static EventDayFile of(int[] epochDays, byte[] categories) {
+        return new EventDayFile(ByteBuffer.wrap(encode(epochDays, categories)), epochDays.length, null != categories);
+    }
+
+    private static byte[] encode(int[] epochDays, byte[] categories) {
+        if (null != categories && categories.length != epochDays.length) {
+            throw new IllegalArgumentException("Expected " + epochDays.length + " categories, got " + categories.length);
+        }
+        for (int i = 1; i < epochDays.length; i++) {
+            if (epochDays[i] <= epochDays[i - 1]) {
+                throw new IllegalArgumentException("Epoch days must be ascending without duplicates, at index " + i);
+            }
+        }
+
+        final ByteBuffer data = ByteBuffer.allocate(HEADER_SIZE + epochDays.length * (null != categories ? 5 : 4));
+        data.putInt(MAGIC);
+        data.putShort((short) VERSION);
+        data.putShort((short) (null != categories ? FLAG_CATEGORIES : 0));
+        data.putInt(epochDays.length);
+        data.asIntBuffer().put(epochDays);
+        if (null != categories) {
+            data.position(HEADER_SIZE + epochDays.length * 4);
+            data.put(categories);
+        }
+        return data.array();
+    }
+
+    public int size() {
+        return mCount;
+    }
+
+    public boolean hasCategories() {
+        return mHasCategories;
+    }
+
+    /**
+     * @param index - the index of the day, from 0 to {@link #size()} - 1.
+     * @return the epoch day at the given index.
+     */
+    public int getEpochDay(int index) {
+        return mData.getInt(HEADER_SIZE + index * 4);
+    }
+
+    /**
+     * @param index - the index of the day, from 0 to {@link #size()} - 1.
+     * @return the category of the day at the given index, from 0 to 255, or
+     * {@link #NO_CATEGORY} if the file has no categories.
+     */
+    public int getCategory(int index) {
+        return mHasCategories ? mData.get(HEADER_SIZE + mCount * 4 + index) & 0xFF : NO_CATEGORY;
+    }
+
+    /**
+     * @param epochDay - the day to look up.
+     * @return the index of the day, or -1 if the day has no event.
+     */
+    public int indexOf(int epochDay) {
+        final int index = lowerBound(epochDay);
+        return index < mCount && getEpochDay(index) == epochDay ? index : -1;
+    }
+
+    /**
+     * @param epochDay - the day to start from, excluded.
+     * @return the first day after the given one, or {@link EventTimeline#NONE}.
+     */
+    public int next(int epochDay) {
+        if (epochDay == Integer.MAX_VALUE) {
+            return EventTimeline.NONE;
+        }
+        final int index = lowerBound(epochDay + 1);
+        return index < mCount ? getEpochDay(index) : EventTimeline.NONE;
+    }
+
+    /**
+     * @param epochDay - the day to start from, excluded.
+     * @return the last day before the given one, or {@link EventTimeline#NONE}.
+     */
+    public int previous(int epochDay) {
+        final int index = lowerBound(epochDay) - 1;
+        return index >= 0 ? getEpochDay(index) : EventTimeline.NONE;
+    }
+
+    public boolean contains(int epochDay) {
+        return indexOf(epochDay) >= 0;
+    }
+
+    /**
+     * @return the index of the first day on or after the given one.
+     */
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (getEpochDay(middle) < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,154 @@
+package com.samsistemas.calendarview.core;
+
+import java.util.Arrays;
+
+/**
+ * Immutable timeline of events sorted by day, as primitive arrays searched in O(log n).
+ * Events keep their year, and each event keeps its position in the list it was built from,
+ * so the events of a day can be found in that list.
+ */
+public final class EventTimeline {
+    public static final EventTimeline EMPTY = new EventTimeline(new int[0], new int[0]);
+
+    /**
+     * Sentinel value for no event day.
+     */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    // Epoch day of each event in ascending order, and the position of the event..
+    private final int[] mEpochDays;
+    private final int[] mEvents;
+
+    private EventTimeline(int[] epochDays, int[] events) {
+        mEpochDays = epochDays;
+        mEvents = events;
+    }
+
+    /**
+     * @param epochDays - the epoch day of each event, in any order.
+     * @param count     - the number of events, from the start of the array.
+     * @return the timeline of the given events. Events of the same day keep their order.
+     */
+    public static EventTimeline of(int[] epochDays, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+
+        // Sort day and position pairs as longs, so the positions break the ties..
+        final long[] pairs = new long[count];
+        for (int i = 0; i < count; i++) {
+            pairs[i] = ((long) epochDays[i] << 32) | i;
+        }
+        Arrays.sort(pairs);
+
+        final int[] days = new int[count];
+        final int[] events = new int[count];
+        for (int i = 0; i < count; i++) {
+            days[i] = (int) (pairs[i] >> 32);
+            events[i] = (int) pairs[i];
+        }
+        return new EventTimeline(days, events);
+    }
+
+    /**
+     * @param epochDays - the epoch day of each added event, in any order.
+     * @param count     - the number of added events, from the start of the array.
+     * @return a timeline with the events of this one and the added ones, positioned after
+     * them. Only the added events are sorted, the rest is merged in O(n).
+     */
+    public EventTimeline with(int[] epochDays, int count) {
+        if (count == 0) {
+            return this;
+        }
+
+        final EventTimeline added = of(epochDays, count);
+        if (mEpochDays.length == 0) {
+            return added;
+        }
+
+        final int size = mEpochDays.length;
+        final int[] days = new int[size + count];
+        final int[] events = new int[size + count];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < days.length; k++) {
+            // On the same day, the events of this timeline come first..
+            if (j == count || (i < size && mEpochDays[i] <= added.mEpochDays[j])) {
+                days[k] = mEpochDays[i];
+                events[k] = mEvents[i++];
+            } else {
+                days[k] = added.mEpochDays[j];
+                events[k] = size + added.mEvents[j++];
+            }
+        }
+        return new EventTimeline(days, events);
+    }
+
+    public int size() {
+        return mEpochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return mEpochDays.length == 0;
+    }
+
+    /**
+     * @param epochDay - the day to look up.
+     * @return true if at least one event falls on the given day.
+     */
+    public boolean contains(int epochDay) {
+        final int index = lowerBound(epochDay);
+        return index < mEpochDays.length && mEpochDays[index] == epochDay;
+    }
+
+    /**
+     * @param epochDay - the day to start from, excluded.
+     * @return the first day after the given one with an event, or {@link #NONE}.
+     */
+    public int next(int epochDay) {
+        if (epochDay == Integer.MAX_VALUE) {
+            return NONE;
+        }
+        final int index = lowerBound(epochDay + 1);
+        return index < mEpochDays.length ? mEpochDays[index] : NONE;
+    }
+
+    /**
+     * @param epochDay - the day to start from, excluded.
+     * @return the last day before the given one with an event, or {@link #NONE}.
+     */
+    public int previous(int epochDay) {
+        final int index = lowerBound(epochDay) - 1;
+        return index >= 0 ? mEpochDays[index] : NONE;
+    }
+
+    /**
+     * @param epochDay - the day to look up.
+     * @return the positions of the events of the given day, in their original order.
+     */
+    public int[] getEvents(int epochDay) {
+        final int start = lowerBound(epochDay);
+        int end = start;
+        while (end < mEpochDays.length && mEpochDays[end] == epochDay) {
+            end++;
+        }
+        return Arrays.copyOfRange(mEvents, start, end);
+    }
+
+    /**
+     * @return the index of the first event on or after the given day.
+     */
+    private int lowerBound(int epochDay) {
+        int low = 0;
+        int high = mEpochDays.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (mEpochDays[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,300 @@
+package com.samsistemas.calendarview.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holidays of several regions read straight from a compact binary buffer, usually a memory
+ * mapped asset. Each region stores one 366-bit set per year, so telling whether a day is a
+ * holiday is a single bit test, plus a table with the names of the holidays.
+ * <p>
+ * The format is big endian:
+ * <pre>
+ * header  : int magic "HCAL", short version, short region count
+ * regions : per region, byte[8] ASCII code padded with zeros, short first year,
+ *           short year count, int bits offset, int names offset, int name count
+ * bits    : per region and year, 48 bytes with bit (dayOfYear - 1) set for holidays
+ * names   : per region, name count entries of int epoch day and int string offset sorted
+ *           by epoch day, then the strings as a short length and UTF-8 bytes, with
+ *           offsets relative to the first string
+ * </pre>
+ * The buffer is never copied, holidays take no heap beyond the small region table.
+ */
+public final class HolidayCalendar {
+    static final int MAGIC = 0x4843414C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int CODE_SIZE = 8;
+    static final int REGION_SIZE = CODE_SIZE + 16;
+    static final int YEAR_SIZE = 48;
+    static final int NAME_ENTRY_SIZE = 8;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, Region> mRegions;
+
+    private HolidayCalendar(Map<String, Region> regions) {
+        mRegions = regions;
+    }
+
+    /**
+     * Reads the region table of the given buffer. The rest of the buffer is read on demand,
+     * so it must not change while the calendar is in use.
+     *
+     * @param buffer - the holidays, from its position to its limit.
+     * @return the holiday calendar.
+     * @throws IOException if the buffer is not a holiday calendar or is truncated.
+     */
+    public static HolidayCalendar read(ByteBuffer buffer) throws IOException {
+        // A slice is big endian and lets the regions use absolute offsets..
+        final ByteBuffer data = buffer.slice();
+        final int size = data.limit();
+        if (size < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a holiday calendar");
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IOException("Unsupported holiday calendar version " + data.getShort(4));
+        }
+
+        final int regionCount = data.getShort(6);
+        if (regionCount < 0 || HEADER_SIZE + regionCount * REGION_SIZE > size) {
+            throw new IOException("Truncated holiday calendar");
+        }
+
+        final Map<String, Region> regions = new LinkedHashMap<>();
+        for (int i = 0; i < regionCount; i++) {
+            final int offset = HEADER_SIZE + i * REGION_SIZE;
+            final byte[] code = new byte[CODE_SIZE];
+            int codeLength = 0;
+            while (codeLength < CODE_SIZE && data.get(offset + codeLength) != 0) {
+                code[codeLength] = data.get(offset + codeLength);
+                codeLength++;
+            }
+
+            final Region region = new Region(data, new String(code, 0, codeLength, UTF_8),
+                    data.getShort(offset + CODE_SIZE), data.getShort(offset + CODE_SIZE + 2),
+                    data.getInt(offset + CODE_SIZE + 4), data.getInt(offset + CODE_SIZE + 8),
+                    data.getInt(offset + CODE_SIZE + 12));
+            if (region.mYearCount < 0 || region.mNameCount < 0 ||
+                    region.mBitsOffset < 0 || region.mBitsOffset + region.mYearCount * YEAR_SIZE > size ||
+                    region.mNamesOffset < 0 || region.getStringsOffset() > size) {
+                throw new IOException("Truncated holiday calendar region " + region.mCode);
+            }
+            regions.put(region.mCode, region);
+        }
+
+        return new HolidayCalendar(Collections.unmodifiableMap(regions));
+    }
+
+    /**
+     * @return the codes of the regions, in the order of the buffer.
+     */
+    public List<String> getRegionCodes() {
+        return new ArrayList<>(mRegions.keySet());
+    }
+
+    /**
+     * @param code - the code of the region, e.g. "US" or "DE-BY".
+     * @return the holidays of the region, or null if the calendar does not have it.
+     */
+    public Region getRegion(String code) {
+        return mRegions.get(code);
+    }
+
+    /**
+     * Holidays of a single region. Lookups only read the shared buffer and are safe from
+     * any thread.
+     */
+    public static final class Region {
+        private final ByteBuffer mData;
+        private final String mCode;
+        private final int mFirstYear;
+        private final int mYearCount;
+        private final int mBitsOffset;
+        private final int mNamesOffset;
+        private final int mNameCount;
+
+        private Region(ByteBuffer data, String code, int firstYear, int yearCount, int bitsOffset,
+                       int namesOffset, int nameCount) {
+            mData = data;
+            mCode = code;
+            mFirstYear = firstYear;
+            mYearCount = yearCount;
+            mBitsOffset = bitsOffset;
+            mNamesOffset = namesOffset;
+            mNameCount = nameCount;
+        }
+
+        public String getCode() {
+            return mCode;
+        }
+
+        public int getFirstYear() {
+            return mFirstYear;
+        }
+
+        public int getLastYear() {
+            return mFirstYear + mYearCount - 1;
+        }
+
+        /**
+         * @param epochDay - the day to test.
+         * @return true if the day is a holiday of this region.
+         */
+        public boolean isHoliday(int epochDay) {
+            final int year = EpochDays.getYear(epochDay);
+            final int yearIndex = year - mFirstYear;
+            if (yearIndex < 0 || yearIndex >= mYearCount) {
+                return false;
+            }
+
+            final int bit = epochDay - EpochDays.of(year, 0, 1);
+            return (mData.get(mBitsOffset + yearIndex * YEAR_SIZE + (bit >> 3)) & (1 << (bit & 7))) != 0;
+        }
+
+        /**
+         * @param epochDay - the day to look up.
+         * @return the name of the holiday on the given day, or null if it is not a holiday.
+         */
+        public String getHolidayName(int epochDay) {
+            int low = 0;
+            int high = mNameCount - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int entry = mNamesOffset + middle * NAME_ENTRY_SIZE;
+                final int day = mData.getInt(entry);
+                if (day < epochDay) {
+                    low = middle + 1;
+                } else if (day > epochDay) {
+                    high = middle - 1;
+                } else {
+                    return readString(getStringsOffset() + mData.getInt(entry + 4));
+                }
+            }
+            return null;
+        }
+
+        private int getStringsOffset() {
+            return mNamesOffset + mNameCount * NAME_ENTRY_SIZE;
+        }
+
+        private String readString(int offset) {
+            final byte[] bytes = new byte[mData.getShort(offset) & 0xFFFF];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = mData.get(offset + 2 + i);
+            }
+            return new String(bytes, UTF_8);
+        }
+    }
+
+    /**
+     * Writes holiday calendars in the format read by {@link HolidayCalendar#read(ByteBuffer)},
+     * e.g. from a build script generating the asset.
+     */
+    public static final class Builder {
+        private final Map<String, TreeMap<Integer, String>> mRegions = new LinkedHashMap<>();
+
+        /**
+         * @param region   - the code of the region, up to 8 ASCII characters.
+         * @param epochDay - the day of the holiday.
+         * @param name     - the name of the holiday.
+         */
+        public Builder addHoliday(String region, int epochDay, String name) {
+            if (region.isEmpty() || region.length() > CODE_SIZE) {
+                throw new IllegalArgumentException("Region codes have from 1 to 8 characters: " + region);
+            }
+
+            TreeMap<Integer, String> holidays = mRegions.get(region);
+            if (null == holidays) {
+                holidays = new TreeMap<>();
+                mRegions.put(region, holidays);
+            }
+            holidays.put(epochDay, name);
+            return this;
+        }
+
+        /**
+         * @return the holiday calendar in its binary format.
+         */
+        public byte[] toByteArray() {
+            // Lay out every region first: bits, name entries and the strings, shared per region..
+            int size = HEADER_SIZE + mRegions.size() * REGION_SIZE;
+            final List<Map<String, Integer>> stringOffsets = new ArrayList<>();
+            final List<int[]> layouts = new ArrayList<>();
+            for (TreeMap<Integer, String> holidays : mRegions.values()) {
+                final int firstYear = EpochDays.getYear(holidays.firstKey());
+                final int yearCount = EpochDays.getYear(holidays.lastKey()) - firstYear + 1;
+                final int bitsOffset = size;
+                final int namesOffset = bitsOffset + yearCount * YEAR_SIZE;
+
+                final Map<String, Integer> offsets = new HashMap<>();
+                int stringsSize = 0;
+                for (String name : holidays.values()) {
+                    if (!offsets.containsKey(name)) {
+                        offsets.put(name, stringsSize);
+                        stringsSize += 2 + name.getBytes(UTF_8).length;
+                    }
+                }
+
+                stringOffsets.add(offsets);
+                layouts.add(new int[]{firstYear, yearCount, bitsOffset, namesOffset});
+                size = namesOffset + holidays.size() * NAME_ENTRY_SIZE + stringsSize;
+            }
+
+            final ByteBuffer data = ByteBuffer.allocate(size);
+            data.putInt(0, MAGIC);
+            data.putShort(4, (short) VERSION);
+            data.putShort(6, (short) mRegions.size());
+
+            int index = 0;
+            for (Map.Entry<String, TreeMap<Integer, String>> region : mRegions.entrySet()) {
+                final TreeMap<Integer, String> holidays = region.getValue();
+                final int[] layout = layouts.get(index);
+                final Map<String, Integer> offsets = stringOffsets.get(index);
+
+                final int offset = HEADER_SIZE + index * REGION_SIZE;
+                final byte[] code = region.getKey().getBytes(UTF_8);
+                for (int i = 0; i < code.length; i++) {
+                    data.put(offset + i, code[i]);
+                }
+                data.putShort(offset + CODE_SIZE, (short) layout[0]);
+                data.putShort(offset + CODE_SIZE + 2, (short) layout[1]);
+                data.putInt(offset + CODE_SIZE + 4, layout[2]);
+                data.putInt(offset + CODE_SIZE + 8, layout[3]);
+                data.putInt(offset + CODE_SIZE + 12, holidays.size());
+
+                final int stringsOffset = layout[3] + holidays.size() * NAME_ENTRY_SIZE;
+                int entry = layout[3];
+                for (Map.Entry<Integer, String> holiday : holidays.entrySet()) {
+                    final int epochDay = holiday.getKey();
+                    final int year = EpochDays.getYear(epochDay);
+                    final int bit = epochDay - EpochDays.of(year, 0, 1);
+                    final int bitsByte = layout[2] + (year - layout[0]) * YEAR_SIZE + (bit >> 3);
+                    data.put(bitsByte, (byte) (data.get(bitsByte) | (1 << (bit & 7))));
+
+                    final int stringOffset = offsets.get(holiday.getValue());
+                    data.putInt(entry, epochDay);
+                    data.putInt(entry + 4, stringOffset);
+                    entry += NAME_ENTRY_SIZE;
+
+                    final byte[] name = holiday.getValue().getBytes(UTF_8);
+                    data.putShort(stringsOffset + stringOffset, (short) name.length);
+                    for (int i = 0; i < name.length; i++) {
+                        data.put(stringsOffset + stringOffset + 2 + i, name[i]);
+                    }
+                }
+                index++;
+            }
+
+            return data.array();
+        }
+    }
+}
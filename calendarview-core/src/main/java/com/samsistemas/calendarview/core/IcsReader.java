@@ -0,0 +1,490 @@
+package com.samsistemas.calendarview.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Streaming reader of iCalendar (RFC 5545) files that reports the days covered by every
+ * VEVENT. Lines are unfolded and parsed one at a time and no event is kept once reported,
+ * so memory does not grow with the size of the file.
+ * <p>
+ * DTSTART and DTEND are read as dates (all-day events), UTC times, times with a TZID or
+ * floating times, and converted to days of the reader's time zone. Recurring events are
+ * expanded within the range of the reader for the DAILY, WEEKLY (with BYDAY), MONTHLY and
+ * YEARLY frequencies with INTERVAL, COUNT and UNTIL; other rule parts and EXDATE are ignored.
+ * <p>
+ * Reading stops with an {@link InterruptedIOException} when the thread is interrupted.
+ */
+public final class IcsReader {
+    private static final int MAX_EVENT_DAYS = 366;
+    private static final int MAX_OCCURRENCES = 36600;
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    private final Calendar mCalendar;
+    private final Map<String, Calendar> mZoneCalendars = new HashMap<>();
+    private int mFirstEpochDay = Integer.MIN_VALUE / 2;
+    private int mLastEpochDay = Integer.MAX_VALUE / 2;
+    private boolean mIsRecurrenceEnabled = true;
+
+    // Properties of the VEVENT being read..
+    private int mStartDay;
+    private long mStartMillis;
+    private boolean mIsAllDay;
+    private int mEndDay;
+    private long mEndMillis;
+    private String mRecurrenceRule;
+
+    // Result of the last parseDateTime() call..
+    private int mParsedDay;
+    private long mParsedMillis;
+    private boolean mIsParsedDate;
+
+    /**
+     * Interface used to receive the events, on the thread reading them.
+     */
+    public interface OnEventListener {
+
+        /**
+         * Called once per event, or per occurrence of a recurring event.
+         *
+         * @param firstEpochDay - the first day of the event, in the time zone of the reader.
+         * @param lastEpochDay  - the last day of the event, inclusive.
+         */
+        void onEvent(int firstEpochDay, int lastEpochDay);
+    }
+
+    /**
+     * @param timeZone - the time zone of the days reported, usually the default one.
+     */
+    public IcsReader(TimeZone timeZone) {
+        mCalendar = new GregorianCalendar(timeZone);
+    }
+
+    /**
+     * Limits the events reported to the ones overlapping the given days. Recurring events
+     * without COUNT or UNTIL are expanded up to the last day.
+     */
+    public IcsReader setRange(int firstEpochDay, int lastEpochDay) {
+        mFirstEpochDay = firstEpochDay;
+        mLastEpochDay = lastEpochDay;
+        return this;
+    }
+
+    /**
+     * @param enabled - false to report only the first occurrence of recurring events.
+     */
+    public IcsReader setRecurrenceEnabled(boolean enabled) {
+        mIsRecurrenceEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * Reads every VEVENT of the given reader, reporting them as they are read.
+     *
+     * @return the number of VEVENTs read.
+     * @throws IOException if reading fails or the thread is interrupted.
+     */
+    public int read(Reader reader, OnEventListener listener) throws IOException {
+        final BufferedReader lines = reader instanceof BufferedReader ?
+                (BufferedReader) reader : new BufferedReader(reader);
+        final StringBuilder line = new StringBuilder();
+        int eventCount = 0;
+
+        // Depth of the components inside the current VEVENT, -1 outside of a VEVENT..
+        int depth = -1;
+        String next = lines.readLine();
+        while (null != next) {
+            line.setLength(0);
+            line.append(next);
+
+            // Unfold the lines starting with a space or a tab..
+            next = lines.readLine();
+            while (null != next && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                line.append(next, 1, next.length());
+                next = lines.readLine();
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedIOException("Reading the events was interrupted");
+            }
+
+            if (startsWith(line, "BEGIN:")) {
+                if (depth >= 0) {
+                    depth++;
+                } else if (equalsValue(line, 6, "VEVENT")) {
+                    depth = 0;
+                    startEvent();
+                }
+            } else if (startsWith(line, "END:")) {
+                if (depth > 0) {
+                    depth--;
+                } else if (depth == 0) {
+                    depth = -1;
+                    if (endEvent(listener)) {
+                        eventCount++;
+                    }
+                }
+            } else if (depth == 0) {
+                readProperty(line);
+            }
+        }
+
+        return eventCount;
+    }
+
+    private void startEvent() {
+        mStartDay = NO_DAY;
+        mEndDay = NO_DAY;
+        mRecurrenceRule = null;
+    }
+
+    private void readProperty(StringBuilder line) {
+        final int colon = indexOfValue(line);
+        if (colon < 0) {
+            return;
+        }
+
+        if (startsWith(line, "DTSTART") && isNameEnd(line, 7)) {
+            if (parseDateTime(line, colon)) {
+                mStartDay = mParsedDay;
+                mStartMillis = mParsedMillis;
+                mIsAllDay = mIsParsedDate;
+            }
+        } else if (startsWith(line, "DTEND") && isNameEnd(line, 5)) {
+            if (parseDateTime(line, colon)) {
+                mEndDay = mParsedDay;
+                mEndMillis = mParsedMillis;
+            }
+        } else if (startsWith(line, "RRULE") && isNameEnd(line, 5)) {
+            mRecurrenceRule = line.substring(colon + 1);
+        }
+    }
+
+    /**
+     * Reports the event just read.
+     *
+     * @return false if the event had no start.
+     */
+    private boolean endEvent(OnEventListener listener) {
+        if (mStartDay == NO_DAY) {
+            return false;
+        }
+
+        // All-day ends are exclusive, timed ones end on the day of their last instant..
+        int lastDay = mStartDay;
+        if (mEndDay != NO_DAY) {
+            if (mIsAllDay) {
+                lastDay = mEndDay - 1;
+            } else if (mEndMillis > mStartMillis) {
+                mCalendar.setTimeInMillis(mEndMillis - 1);
+                lastDay = EpochDays.of(mCalendar);
+            }
+        }
+        final int span = Math.min(Math.max(lastDay - mStartDay, 0), MAX_EVENT_DAYS - 1);
+
+        if (!mIsRecurrenceEnabled || null == mRecurrenceRule) {
+            emit(listener, mStartDay, span);
+        } else {
+            expand(listener, span);
+        }
+        return true;
+    }
+
+    private void emit(OnEventListener listener, int firstDay, int span) {
+        if (firstDay + span >= mFirstEpochDay && firstDay <= mLastEpochDay) {
+            listener.onEvent(firstDay, firstDay + span);
+        }
+    }
+
+    /**
+     * Expands the recurrence rule of the event, stopping at its COUNT, its UNTIL or the end
+     * of the range of the reader, whichever comes first.
+     */
+    private void expand(OnEventListener listener, int span) {
+        String frequency = null;
+        int interval = 1;
+        int count = Integer.MAX_VALUE;
+        int limit = mLastEpochDay;
+        int byDay = 0;
+
+        final String rule = mRecurrenceRule;
+        int partStart = 0;
+        while (partStart < rule.length()) {
+            int partEnd = rule.indexOf(';', partStart);
+            if (partEnd < 0) {
+                partEnd = rule.length();
+            }
+
+            final int equals = rule.indexOf('=', partStart);
+            if (equals > partStart && equals < partEnd) {
+                final String name = rule.substring(partStart, equals);
+                final String value = rule.substring(equals + 1, partEnd);
+                if ("FREQ".equalsIgnoreCase(name)) {
+                    frequency = value.toUpperCase(Locale.US);
+                } else if ("INTERVAL".equalsIgnoreCase(name)) {
+                    interval = Math.max(1, parseInt(value, 0, value.length(), 1));
+                } else if ("COUNT".equalsIgnoreCase(name)) {
+                    count = Math.max(0, parseInt(value, 0, value.length(), 0));
+                } else if ("UNTIL".equalsIgnoreCase(name) && value.length() >= 8) {
+                    limit = Math.min(limit, EpochDays.of(parseInt(value, 0, 4, 1970),
+                            parseInt(value, 4, 6, 1) - 1, parseInt(value, 6, 8, 1)));
+                } else if ("BYDAY".equalsIgnoreCase(name)) {
+                    byDay = parseByDay(value);
+                }
+            }
+            partStart = partEnd + 1;
+        }
+
+        // Occurrences starting before this day end before the range, so they are skipped
+        // arithmetically, still counting towards the COUNT..
+        final long from = (long) mFirstEpochDay - span;
+        final int start = mStartDay;
+        int occurrences = 0;
+        if ("DAILY".equals(frequency)) {
+            int day = start;
+            if (day < from) {
+                final long skipped = (from - day + interval - 1) / interval;
+                occurrences = (int) Math.min(skipped, count);
+                day = (int) Math.min(day + skipped * interval, Integer.MAX_VALUE);
+            }
+            // Rules without an end are bounded by the range, and anyway by a sane maximum..
+            count = (int) Math.min(count, (long) occurrences + MAX_OCCURRENCES);
+            for (; day <= limit && occurrences < count; day += interval, occurrences++) {
+                emit(listener, day, span);
+            }
+        } else if ("WEEKLY".equals(frequency)) {
+            if (byDay == 0) {
+                byDay = 1 << EpochDays.getDayOfWeek(start);
+            }
+            // Weeks start on Monday, the default WKST..
+            final int weekStart = start - MonthGrid.getColumn(EpochDays.getDayOfWeek(start), Calendar.MONDAY);
+            int week = weekStart;
+            if (week + 6 < from) {
+                // The days of the first week from the start, then whole weeks..
+                final long skipped = (from - week - 6 + 7L * interval - 1) / (7L * interval);
+                for (int day = start; day < weekStart + 7; day++) {
+                    if ((byDay & (1 << EpochDays.getDayOfWeek(day))) != 0) {
+                        occurrences++;
+                    }
+                }
+                occurrences = (int) Math.min(occurrences + (skipped - 1) * Integer.bitCount(byDay), count);
+                week = (int) Math.min(week + skipped * 7 * interval, Integer.MAX_VALUE - 7);
+            }
+            count = (int) Math.min(count, (long) occurrences + MAX_OCCURRENCES);
+            for (; week <= limit && occurrences < count; week += 7 * interval) {
+                for (int day = Math.max(week, start); day < week + 7 && day <= limit && occurrences < count; day++) {
+                    if ((byDay & (1 << EpochDays.getDayOfWeek(day))) != 0) {
+                        emit(listener, day, span);
+                        occurrences++;
+                    }
+                }
+            }
+        } else if ("MONTHLY".equals(frequency) || "YEARLY".equals(frequency)) {
+            // Months without the day of the start, e.g. the 31st, are skipped..
+            final int step = "MONTHLY".equals(frequency) ? interval : 12 * interval;
+            final int firstMonth = EpochDays.getYear(start) * 12 + EpochDays.getMonth(start);
+            final int dayOfMonth = EpochDays.getDayOfMonth(start);
+            int month = firstMonth;
+            if (count == Integer.MAX_VALUE && from > start) {
+                // Without a COUNT, the months before the range need not be counted..
+                final int fromDay = (int) from;
+                final int fromMonth = EpochDays.getYear(fromDay) * 12 + EpochDays.getMonth(fromDay);
+                month += Math.max(0, (fromMonth - firstMonth) / step) * step;
+            }
+            count = (int) Math.min(count, (long) occurrences + MAX_OCCURRENCES);
+            for (; occurrences < count; month += step) {
+                final int year = month / 12;
+                if (EpochDays.of(year, month % 12, 1) > limit) {
+                    break;
+                }
+                if (dayOfMonth <= EpochDays.getDaysInMonth(year, month % 12)) {
+                    final int day = EpochDays.of(year, month % 12, dayOfMonth);
+                    if (day > limit) {
+                        break;
+                    }
+                    emit(listener, day, span);
+                    occurrences++;
+                }
+            }
+        } else {
+            emit(listener, start, span);
+        }
+    }
+
+    /**
+     * Parses the date or date-time of the property whose value starts after the given colon
+     * into mParsedDay, mParsedMillis and mIsParsedDate.
+     *
+     * @return false if the value is not a valid date or date-time.
+     */
+    private boolean parseDateTime(StringBuilder line, int colon) {
+        final int value = colon + 1;
+        final int length = line.length() - value;
+        if (length < 8) {
+            return false;
+        }
+
+        final int year = parseInt(line, value, value + 4, -1);
+        final int month = parseInt(line, value + 4, value + 6, -1);
+        final int dayOfMonth = parseInt(line, value + 6, value + 8, -1);
+        if (year < 0 || month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > 31) {
+            return false;
+        }
+
+        mIsParsedDate = length < 15 || line.charAt(value + 8) != 'T';
+        if (mIsParsedDate) {
+            // Dates are the same day everywhere..
+            mParsedDay = EpochDays.of(year, month - 1, dayOfMonth);
+            mParsedMillis = 0;
+            return true;
+        }
+
+        final int hour = parseInt(line, value + 9, value + 11, 0);
+        final int minute = parseInt(line, value + 11, value + 13, 0);
+        final int second = parseInt(line, value + 13, value + 15, 0);
+
+        // UTC, a TZID parameter, or a floating time in the reader's time zone..
+        final Calendar zoneCalendar;
+        if (length > 15 && line.charAt(value + 15) == 'Z') {
+            zoneCalendar = getZoneCalendar("UTC");
+        } else {
+            final String timeZoneId = getParameter(line, colon, "TZID");
+            zoneCalendar = null != timeZoneId ? getZoneCalendar(timeZoneId) : mCalendar;
+        }
+
+        zoneCalendar.clear();
+        zoneCalendar.set(year, month - 1, dayOfMonth, hour, minute, second);
+        mParsedMillis = zoneCalendar.getTimeInMillis();
+
+        mCalendar.setTimeInMillis(mParsedMillis);
+        mParsedDay = EpochDays.of(mCalendar);
+        return true;
+    }
+
+    private Calendar getZoneCalendar(String timeZoneId) {
+        Calendar calendar = mZoneCalendars.get(timeZoneId);
+        if (null == calendar) {
+            // Unknown zones fall back to GMT, like TimeZone.getTimeZone()..
+            calendar = new GregorianCalendar(TimeZone.getTimeZone(timeZoneId));
+            mZoneCalendars.put(timeZoneId, calendar);
+        }
+        return calendar;
+    }
+
+    private static int parseByDay(String value) {
+        int mask = 0;
+        for (String day : value.split(",")) {
+            // Ordinals such as 1MO or -1FR are not supported, only the day is kept..
+            final String code = day.length() >= 2 ? day.substring(day.length() - 2).toUpperCase(Locale.US) : day;
+            if ("SU".equals(code)) {
+                mask |= 1 << Calendar.SUNDAY;
+            } else if ("MO".equals(code)) {
+                mask |= 1 << Calendar.MONDAY;
+            } else if ("TU".equals(code)) {
+                mask |= 1 << Calendar.TUESDAY;
+            } else if ("WE".equals(code)) {
+                mask |= 1 << Calendar.WEDNESDAY;
+            } else if ("TH".equals(code)) {
+                mask |= 1 << Calendar.THURSDAY;
+            } else if ("FR".equals(code)) {
+                mask |= 1 << Calendar.FRIDAY;
+            } else if ("SA".equals(code)) {
+                mask |= 1 << Calendar.SATURDAY;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return the value of the given parameter of the property, or null if it has none.
+     */
+    private static String getParameter(StringBuilder line, int colon, String name) {
+        int index = line.indexOf(";");
+        while (index >= 0 && index < colon) {
+            final int start = index + 1;
+            int end = line.indexOf(";", start);
+            if (end < 0 || end > colon) {
+                end = colon;
+            }
+
+            if (end - start > name.length() && line.charAt(start + name.length()) == '=' &&
+                    regionMatches(line, start, name)) {
+                int valueStart = start + name.length() + 1;
+                int valueEnd = end;
+                if (valueEnd - valueStart >= 2 && line.charAt(valueStart) == '"') {
+                    valueStart++;
+                    valueEnd--;
+                }
+                return line.substring(valueStart, valueEnd);
+            }
+            index = end < colon ? end : -1;
+        }
+        return null;
+    }
+
+    /**
+     * @return the index of the colon separating the name and parameters from the value,
+     * skipping colons in quoted parameter values.
+     */
+    private static int indexOfValue(StringBuilder line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNameEnd(StringBuilder line, int index) {
+        return index < line.length() && (line.charAt(index) == ':' || line.charAt(index) == ';');
+    }
+
+    private static boolean startsWith(StringBuilder line, String prefix) {
+        return line.length() >= prefix.length() && regionMatches(line, 0, prefix);
+    }
+
+    private static boolean equalsValue(StringBuilder line, int start, String value) {
+        int end = line.length();
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return end - start == value.length() && regionMatches(line, start, value);
+    }
+
+    private static boolean regionMatches(CharSequence line, int start, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toUpperCase(line.charAt(start + i)) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseInt(CharSequence text, int start, int end, int fallback) {
+        if (end > text.length() || start >= end) {
+            return fallback;
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return fallback;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,120 @@
+package com.samsistemas.calendarview.core;
+
+/**
+ * Immutable layout of a month in the calendar grid: rows of seven cells starting on the
+ * first day of the week, with the days of the previous and next months filling the first
+ * and last rows. Cells are numbered from 0, left to right and top to bottom.
+ */
+public final class MonthGrid {
+    public static final int COLUMNS = 7;
+    public static final int MAX_ROWS = 6;
+    public static final int MAX_CELLS = COLUMNS * MAX_ROWS;
+
+    private final int mYear;
+    private final int mMonth;
+    private final int mFirstDayOfWeek;
+    private final int mFirstEpochDay;
+    private final int mFirstCell;
+    private final int mDayCount;
+    private final int mRowCount;
+
+    private MonthGrid(int year, int month, int firstDayOfWeek) {
+        mYear = year;
+        mMonth = month;
+        mFirstDayOfWeek = firstDayOfWeek;
+
+        final int firstDayOfMonth = EpochDays.of(year, month, 1);
+        mFirstCell = getColumn(EpochDays.getDayOfWeek(firstDayOfMonth), firstDayOfWeek);
+        mFirstEpochDay = firstDayOfMonth - mFirstCell;
+        mDayCount = EpochDays.getDaysInMonth(year, month);
+
+        // The sixth row is only needed when the month does not fit in five rows
+        mRowCount = mFirstCell + mDayCount > 35 ? MAX_ROWS : MAX_ROWS - 1;
+    }
+
+    /**
+     * @param year           - the year.
+     * @param month          - the month, from 0 to 11.
+     * @param firstDayOfWeek - the day of the week of the first column, from
+     *                       {@link java.util.Calendar#SUNDAY} to {@link java.util.Calendar#SATURDAY}.
+     * @return the grid of the given month.
+     */
+    public static MonthGrid of(int year, int month, int firstDayOfWeek) {
+        if (firstDayOfWeek < 1 || firstDayOfWeek > 7) {
+            throw new IllegalArgumentException("Invalid first day of week: " + firstDayOfWeek);
+        }
+        return new MonthGrid(year, month, firstDayOfWeek);
+    }
+
+    /**
+     * @param dayOfWeek      - the day of the week, from Calendar.SUNDAY to Calendar.SATURDAY.
+     * @param firstDayOfWeek - the day of the week of the first column.
+     * @return the column of the given day of the week, from 0 to 6.
+     */
+    public static int getColumn(int dayOfWeek, int firstDayOfWeek) {
+        return EpochDays.floorMod(dayOfWeek - firstDayOfWeek, COLUMNS);
+    }
+
+    public int getYear() {
+        return mYear;
+    }
+
+    public int getMonth() {
+        return mMonth;
+    }
+
+    public int getFirstDayOfWeek() {
+        return mFirstDayOfWeek;
+    }
+
+    /**
+     * @return the cell of the first day of the month.
+     */
+    public int getFirstCell() {
+        return mFirstCell;
+    }
+
+    /**
+     * @return the number of days of the month.
+     */
+    public int getDayCount() {
+        return mDayCount;
+    }
+
+    /**
+     * @return the number of rows needed by the month, 5 or 6.
+     */
+    public int getRowCount() {
+        return mRowCount;
+    }
+
+    public int getCellCount() {
+        return mRowCount * COLUMNS;
+    }
+
+    /**
+     * @param cell - the cell, from 0.
+     * @return the epoch day shown in the given cell.
+     */
+    public int getEpochDay(int cell) {
+        return mFirstEpochDay + cell;
+    }
+
+    /**
+     * @param epochDay - the epoch day.
+     * @return the cell showing the given epoch day, or -1 if it is out of the grid.
+     */
+    public int getCell(int epochDay) {
+        final int cell = epochDay - mFirstEpochDay;
+        return cell >= 0 && cell < getCellCount() ? cell : -1;
+    }
+
+    /**
+     * @param cell - the cell, from 0.
+     * @return true if the given cell shows a day of the month, and not one of the
+     * previous or next months.
+     */
+    public boolean isInMonth(int cell) {
+        return cell >= mFirstCell && cell < mFirstCell + mDayCount;
+    }
+}
@@ -0,0 +1,59 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link DayIntervalSet} against a plain scan of the days it was built from.
+ */
+public class DayIntervalSetTest {
+
+    @Test
+    public void mergesRangesAndMatchesAScan() {
+        final int first = EpochDays.of(2024, 0, 1);
+        final int[][] ranges = {{40, 45}, {10, 12}, {13, 20}, {11, 15}, {44, 60}, {100, 100}, {-5, -1}};
+
+        final DayIntervalSet.Builder builder = new DayIntervalSet.Builder().addDayOfWeek(Calendar.SUNDAY);
+        for (int[] range : ranges) {
+            builder.addRange(first + range[0], first + range[1]);
+        }
+        final DayIntervalSet days = builder.build();
+        assertEquals(4, days.getRangeCount());
+        assertTrue(days.containsDayOfWeek(Calendar.SUNDAY));
+
+        for (int offset = -10; offset <= 110; offset++) {
+            final int epochDay = first + offset;
+            boolean expected = EpochDays.getDayOfWeek(epochDay) == Calendar.SUNDAY;
+            for (int[] range : ranges) {
+                expected |= offset >= range[0] && offset <= range[1];
+            }
+            assertEquals("Day " + offset, expected, days.contains(epochDay));
+        }
+    }
+
+    @Test
+    public void handlesTheEdgesOfTheRange() {
+        final DayIntervalSet days = new DayIntervalSet.Builder()
+                .addRange(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)
+                .addRange(Integer.MIN_VALUE, Integer.MIN_VALUE + 1)
+                .addDay(0)
+                .build();
+
+        assertEquals(3, days.getRangeCount());
+        assertTrue(days.contains(Integer.MAX_VALUE));
+        assertTrue(days.contains(Integer.MIN_VALUE));
+        assertTrue(days.contains(0));
+        assertFalse(days.contains(1));
+        assertTrue(DayIntervalSet.EMPTY.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsReversedRanges() {
+        new DayIntervalSet.Builder().addRange(2, 1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link DayLabels} over a year of prices, checking each value is formatted once.
+ */
+public class DayLabelsTest {
+
+    @Test
+    public void formatsEachDistinctValueOnce() {
+        final int first = EpochDays.of(2025, 0, 1);
+        final int[] prices = new int[365];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = i % 7 == 0 ? DayLabels.NO_VALUE : 80 + (i % 3) * 10;
+        }
+
+        final int[] formatted = new int[1];
+        final DayLabels labels = DayLabels.of(first, prices, new DayLabels.Formatter() {
+            @Override
+            public String format(double value) {
+                formatted[0]++;
+                return "$" + (int) value;
+            }
+        });
+
+        assertEquals(3, formatted[0]);
+        assertEquals(365, labels.getDayCount());
+        assertNull(labels.getLabel(first));
+        assertEquals("$90", labels.getLabel(first + 1));
+        assertTrue(labels.getLabel(first + 4) == labels.getLabel(first + 1));
+        assertNull(labels.getLabel(first - 1));
+        assertNull(labels.getLabel(first + 365));
+        assertNull(labels.getLabel(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void sharesEqualStringsAndSkipsNaN() {
+        final DayLabels seats = DayLabels.of(10, new float[]{2.5f, Float.NaN, 2.5f}, new DayLabels.Formatter() {
+            @Override
+            public String format(double value) {
+                return String.valueOf(value);
+            }
+        });
+        assertEquals("2.5", seats.getLabel(10));
+        assertNull(seats.getLabel(11));
+
+        final DayLabels labels = DayLabels.of(0, new String[]{"Full", null, new String("Full")});
+        assertTrue(labels.getLabel(0) == labels.getLabel(2));
+        assertNull(labels.getLabel(1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round trip of {@link EventDayFile} through a real file, with and without categories.
+ */
+public class EventDayFileTest {
+
+    @Test
+    public void mapsWhatWasWritten() throws IOException {
+        final File file = File.createTempFile("events", ".evdy");
+        try {
+            final int[] days = {-400, 0, 19723, 19724, 20000};
+            EventDayFile.write(file, days, new byte[]{0, 1, 2, (byte) 200, 7});
+
+            final EventDayFile eventDays = EventDayFile.map(file);
+            assertEquals(days.length, eventDays.size());
+            assertTrue(eventDays.hasCategories());
+            for (int i = 0; i < days.length; i++) {
+                assertEquals(days[i], eventDays.getEpochDay(i));
+                assertEquals(i, eventDays.indexOf(days[i]));
+            }
+            assertEquals(200, eventDays.getCategory(3));
+            assertFalse(eventDays.contains(1));
+            assertEquals(-1, eventDays.indexOf(-401));
+            assertEquals(-1, eventDays.indexOf(20001));
+
+            // Replacing the file leaves the mapped days intact..
+            EventDayFile.write(file, new int[]{5}, null);
+            assertEquals(19724, eventDays.getEpochDay(3));
+
+            final EventDayFile replaced = EventDayFile.map(file);
+            assertEquals(1, replaced.size());
+            assertFalse(replaced.hasCategories());
+            assertEquals(EventDayFile.NO_CATEGORY, replaced.getCategory(0));
+            assertTrue(replaced.contains(5));
+            assertFalse(new File(file.getPath() + ".tmp").exists());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFormats() throws IOException {
+        EventDayFile.read(ByteBuffer.wrap(new byte[]{'H', 'C', 'A', 'L', 0, 1, 0, 0, 0, 0, 0, 0}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnsortedDays() throws IOException {
+        EventDayFile.write(new File("unused"), new int[]{2, 1}, null);
+    }
+}
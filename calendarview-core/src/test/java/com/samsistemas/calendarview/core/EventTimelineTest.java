@@ -0,0 +1,65 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the {@link EventTimeline} searches, across years and with several events per day.
+ */
+public class EventTimelineTest {
+
+    @Test
+    public void findsNextAndPreviousDays() {
+        final int[] days = {day(2031, 5, 2), day(1999, 12, 31), day(2024, 2, 29), day(1969, 7, 20)};
+        final EventTimeline timeline = EventTimeline.of(days, days.length);
+
+        assertEquals(day(1999, 12, 31), timeline.next(day(1969, 7, 20)));
+        assertEquals(day(2031, 5, 2), timeline.next(day(2024, 2, 29)));
+        assertEquals(EventTimeline.NONE, timeline.next(day(2031, 5, 2)));
+        assertEquals(day(1969, 7, 20), timeline.next(Integer.MIN_VALUE + 1));
+
+        assertEquals(day(2024, 2, 29), timeline.previous(day(2031, 5, 2)));
+        assertEquals(day(1969, 7, 20), timeline.previous(day(1970, 1, 1)));
+        assertEquals(EventTimeline.NONE, timeline.previous(day(1969, 7, 20)));
+
+        assertTrue(timeline.contains(day(2024, 2, 29)));
+        assertFalse(timeline.contains(day(2025, 2, 28)));
+        assertEquals(EventTimeline.NONE, EventTimeline.EMPTY.next(0));
+    }
+
+    @Test
+    public void keepsTheEventsOfEachDayInOrder() {
+        final int[] days = {10, 3, 10, -5, 10, 3, 0};
+        final EventTimeline timeline = EventTimeline.of(days, days.length - 1);
+
+        assertEquals(6, timeline.size());
+        assertArrayEquals(new int[]{0, 2, 4}, timeline.getEvents(10));
+        assertArrayEquals(new int[]{1, 5}, timeline.getEvents(3));
+        assertArrayEquals(new int[]{3}, timeline.getEvents(-5));
+        assertArrayEquals(new int[0], timeline.getEvents(0));
+    }
+
+    @Test
+    public void mergesAddedEventsAfterTheOthers() {
+        final int[] days = {10, 3, 10, -5, 7, 3, 10, -9};
+        final EventTimeline timeline = EventTimeline.of(days, 4)
+                .with(new int[]{7, 3, 10, -9}, 4);
+        final EventTimeline expected = EventTimeline.of(days, days.length);
+
+        assertEquals(expected.size(), timeline.size());
+        for (int day = -10; day <= 11; day++) {
+            assertArrayEquals(expected.getEvents(day), timeline.getEvents(day));
+            assertEquals(expected.next(day), timeline.next(day));
+            assertEquals(expected.previous(day), timeline.previous(day));
+        }
+        assertTrue(timeline == timeline.with(days, 0));
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return EpochDays.of(year, month - 1, dayOfMonth);
+    }
+}
@@ -0,0 +1,66 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Round trip of {@link HolidayCalendar} through its binary format, testing every day of the
+ * years covered by the regions, leap days included.
+ */
+public class HolidayCalendarTest {
+
+    @Test
+    public void readsWhatTheBuilderWrites() throws IOException {
+        final Map<String, Map<Integer, String>> expected = new HashMap<>();
+        final HolidayCalendar.Builder builder = new HolidayCalendar.Builder();
+        for (int year = 2000; year <= 2030; year++) {
+            add(builder, expected, "US", EpochDays.of(year, 0, 1), "New Year's Day");
+            add(builder, expected, "US", EpochDays.of(year, 6, 4), "Independence Day");
+            add(builder, expected, "US", EpochDays.of(year, 11, 31), "New Year's Eve");
+            add(builder, expected, "DE-BY", EpochDays.of(year, 9, 3), "Tag der Deutschen Einheit");
+            if (EpochDays.getDaysInMonth(year, 1) == 29) {
+                add(builder, expected, "DE-BY", EpochDays.of(year, 1, 29), "Schalttag ü");
+            }
+        }
+
+        final HolidayCalendar calendar = HolidayCalendar.read(ByteBuffer.wrap(builder.toByteArray()));
+        assertEquals(Arrays.asList("US", "DE-BY"), calendar.getRegionCodes());
+        assertNull(calendar.getRegion("FR"));
+
+        for (Map.Entry<String, Map<Integer, String>> region : expected.entrySet()) {
+            final HolidayCalendar.Region holidays = calendar.getRegion(region.getKey());
+            assertEquals(2000, holidays.getFirstYear());
+            assertEquals(2030, holidays.getLastYear());
+
+            for (int epochDay = EpochDays.of(1999, 0, 1); epochDay < EpochDays.of(2032, 0, 1); epochDay++) {
+                final String name = region.getValue().get(epochDay);
+                assertEquals(region.getKey() + " " + epochDay, null != name, holidays.isHoliday(epochDay));
+                assertEquals(name, holidays.getHolidayName(epochDay));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFormats() throws IOException {
+        HolidayCalendar.read(ByteBuffer.wrap(new byte[]{'P', 'K', 3, 4, 0, 0, 0, 0}));
+    }
+
+    private static void add(HolidayCalendar.Builder builder, Map<String, Map<Integer, String>> expected,
+                            String region, int epochDay, String name) {
+        builder.addHoliday(region, epochDay, name);
+        Map<Integer, String> holidays = expected.get(region);
+        if (null == holidays) {
+            holidays = new HashMap<>();
+            expected.put(region, holidays);
+        }
+        holidays.put(epochDay, name);
+    }
+}
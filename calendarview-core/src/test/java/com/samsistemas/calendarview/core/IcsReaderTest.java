@@ -0,0 +1,123 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link IcsReader} over small hand written calendars, one feature at a time.
+ */
+public class IcsReaderTest {
+    private static final TimeZone BERLIN = TimeZone.getTimeZone("Europe/Berlin");
+
+    @Test
+    public void readsAllDayAndTimedEvents() throws IOException {
+        final String ics = "BEGIN:VCALENDAR\r\n" +
+                "BEGIN:VEVENT\r\n" +
+                "DTSTART;VALUE=DATE:20240101\r\n" +
+                "DTEND;VALUE=DATE:20240103\r\n" +
+                "END:VEVENT\r\n" +
+                "BEGIN:VEVENT\r\n" +
+                "DTSTART:20240110T230000Z\r\n" +
+                "DTEND:20240110T233000Z\r\n" +
+                "END:VEVENT\r\n" +
+                "BEGIN:VEVENT\r\n" +
+                "DTSTART;TZID=\"America/New_York\":20240115T200000\r\n" +
+                "DTEND;TZID=America/New_York:20240116T000000\r\n" +
+                "END:VEVENT\r\n" +
+                "END:VCALENDAR\r\n";
+
+        // 23:00 UTC is already the next day in Berlin, 20:00 in New York is 02:00..
+        assertEquals(Arrays.asList(
+                day(2024, 1, 1), day(2024, 1, 2),
+                day(2024, 1, 11), day(2024, 1, 11),
+                day(2024, 1, 16), day(2024, 1, 16)), read(ics, new IcsReader(BERLIN)));
+    }
+
+    @Test
+    public void unfoldsLinesAndSkipsNestedComponents() throws IOException {
+        final String ics = "BEGIN:VEVENT\n" +
+                "SUMMARY:A long\n" +
+                "  summary\n" +
+                "DTSTART;VALUE=DATE:2024\n" +
+                " 0301\n" +
+                "BEGIN:VALARM\n" +
+                "DTSTART;VALUE=DATE:20240201\n" +
+                "END:VALARM\n" +
+                "END:VEVENT\n";
+
+        assertEquals(Arrays.asList(day(2024, 3, 1), day(2024, 3, 1)), read(ics, new IcsReader(BERLIN)));
+    }
+
+    @Test
+    public void expandsRecurrenceRules() throws IOException {
+        final String ics = "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:20240101\n" +
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=3\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:20240131\n" +
+                "RRULE:FREQ=MONTHLY;UNTIL=20240601\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:20240229\n" +
+                "RRULE:FREQ=YEARLY\n" +
+                "END:VEVENT\n";
+
+        final IcsReader reader = new IcsReader(BERLIN).setRange(day(2024, 1, 1), day(2028, 12, 31));
+        assertEquals(Arrays.asList(
+                day(2024, 1, 1), day(2024, 1, 1), day(2024, 1, 3), day(2024, 1, 3), day(2024, 1, 8), day(2024, 1, 8),
+                day(2024, 1, 31), day(2024, 1, 31), day(2024, 3, 31), day(2024, 3, 31), day(2024, 5, 31), day(2024, 5, 31),
+                day(2024, 2, 29), day(2024, 2, 29), day(2028, 2, 29), day(2028, 2, 29)), read(ics, reader));
+
+        reader.setRecurrenceEnabled(false);
+        assertEquals(6, read(ics, reader).size());
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return EpochDays.of(year, month - 1, dayOfMonth);
+    }
+
+    @Test
+    public void skipsOccurrencesBeforeTheRange() throws IOException {
+        final String ics = "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:19000101\n" +
+                "RRULE:FREQ=DAILY;INTERVAL=2\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:16000103\n" +
+                "RRULE:FREQ=WEEKLY;BYDAY=MO,WE\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "DTSTART;VALUE=DATE:19500102\n" +
+                "RRULE:FREQ=WEEKLY;COUNT=100\n" +
+                "END:VEVENT\n";
+
+        // Decades of occurrences before the range neither hit the maximum nor get emitted..
+        final IcsReader reader = new IcsReader(BERLIN).setRange(day(2024, 1, 1), day(2024, 1, 10));
+        assertEquals(Arrays.asList(
+                day(2024, 1, 1), day(2024, 1, 1), day(2024, 1, 3), day(2024, 1, 3), day(2024, 1, 5), day(2024, 1, 5),
+                day(2024, 1, 7), day(2024, 1, 7), day(2024, 1, 9), day(2024, 1, 9),
+                day(2024, 1, 1), day(2024, 1, 1), day(2024, 1, 3), day(2024, 1, 3), day(2024, 1, 8), day(2024, 1, 8),
+                day(2024, 1, 10), day(2024, 1, 10)), read(ics, reader));
+    }
+
+    private static List<Integer> read(String ics, IcsReader reader) throws IOException {
+        final List<Integer> days = new ArrayList<>();
+        reader.read(new StringReader(ics), new IcsReader.OnEventListener() {
+            @Override
+            public void onEvent(int firstEpochDay, int lastEpochDay) {
+                days.add(firstEpochDay);
+                days.add(lastEpochDay);
+            }
+        });
+        return days;
+    }
+}
@@ -0,0 +1,211 @@
+package com.samsistemas.calendarview.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Differential test of {@link MonthGrid} against a grid built with {@link Calendar}, the way
+ * CalendarView used to build it: a Calendar of the locale and time zone, at the current time
+ * of day, walked one day at a time. Every month from 1900 to 2200 is compared in several
+ * locales, each with its own first day of the week, and time zones with DST transitions at
+ * or around midnight, at the current time of day and around midnight. Mismatches and the
+ * throughput of both implementations are reported.
+ */
+public class MonthGridDifferentialTest {
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2200;
+    private static final int MAX_REPORTED_MISMATCHES = 20;
+    private static final long MINUTE_MILLIS = 60L * 1000;
+    private static final long DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+
+    private static final Locale[] LOCALES = {
+            Locale.US,
+            Locale.UK,
+            Locale.FRANCE,
+            Locale.GERMANY,
+            new Locale("ar", "EG"),
+            new Locale("fa", "IR"),
+            new Locale("pt", "BR"),
+            new Locale("th", "TH")
+    };
+
+    private static final String[] TIME_ZONES = {
+            "UTC",
+            "America/Sao_Paulo",
+            "America/Havana",
+            "America/Santiago",
+            "Asia/Tehran",
+            "Australia/Lord_Howe",
+            "Europe/London",
+            "America/St_Johns"
+    };
+
+    @Test
+    public void monthGridMatchesCalendarGrid() {
+        final List<String> mismatches = new ArrayList<>();
+        long gridCount = 0;
+        long referenceNanos = 0;
+        long gridNanos = 0;
+        int skippedCount = 0;
+
+        for (int i = 0; i < LOCALES.length; i++) {
+            final Locale locale = LOCALES[i];
+            final TimeZone timeZone = TimeZone.getTimeZone(TIME_ZONES[i % TIME_ZONES.length]);
+            final int firstDayOfWeek = Calendar.getInstance(timeZone, locale).getFirstDayOfWeek();
+
+            // The old grid ran at the time of day of the refresh, so try midnight too..
+            final long[] timesOfDay = {getTimeOfDay(timeZone), 0, 30 * MINUTE_MILLIS, DAY_MILLIS - 30 * MINUTE_MILLIS};
+            for (long timeOfDay : timesOfDay) {
+                final int[][] expected = new int[(LAST_YEAR - FIRST_YEAR + 1) * 12][];
+                final MonthGrid[] actual = new MonthGrid[expected.length];
+
+                long start = System.nanoTime();
+                for (int index = 0; index < expected.length; index++) {
+                    expected[index] = referenceGrid(FIRST_YEAR + index / 12, index % 12, timeOfDay, locale, timeZone);
+                }
+                referenceNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int index = 0; index < actual.length; index++) {
+                    actual[index] = MonthGrid.of(FIRST_YEAR + index / 12, index % 12, firstDayOfWeek);
+                }
+                gridNanos += System.nanoTime() - start;
+                gridCount += expected.length;
+
+                for (int index = 0; index < expected.length; index++) {
+                    if (null == expected[index]) {
+                        skippedCount++;
+                        continue;
+                    }
+                    final String mismatch = compare(expected[index], actual[index]);
+                    if (null != mismatch && mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                        mismatches.add(String.format(Locale.US, "%04d-%02d first=%d time=%d locale=%s tz=%s: %s",
+                                FIRST_YEAR + index / 12, index % 12 + 1, firstDayOfWeek, timeOfDay / MINUTE_MILLIS,
+                                locale, timeZone.getID(), mismatch));
+                    }
+                }
+            }
+        }
+
+        System.out.println(String.format(Locale.US, "MonthGrid: %d grids, %.0f grids/s (Calendar: %.0f grids/s)",
+                gridCount, gridCount * 1e9 / gridNanos, gridCount * 1e9 / referenceNanos));
+        System.out.println(String.format(Locale.US, "Calendar skipped a day in a DST gap in %d grids, not compared", skippedCount));
+        for (String mismatch : mismatches) {
+            System.out.println("Mismatch " + mismatch);
+        }
+
+        assertEquals("Mismatching grids: " + mismatches, 0, mismatches.size());
+    }
+
+    @Test
+    public void columnOfEveryDayOfWeek() {
+        for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+            final Calendar calendar = new GregorianCalendar();
+            calendar.setFirstDayOfWeek(firstDayOfWeek);
+
+            for (int dayOfWeek = Calendar.SUNDAY; dayOfWeek <= Calendar.SATURDAY; dayOfWeek++) {
+                calendar.set(Calendar.DAY_OF_WEEK, dayOfWeek);
+                int column = 0;
+                final Calendar walker = (Calendar) calendar.clone();
+                while (walker.get(Calendar.DAY_OF_WEEK) != firstDayOfWeek) {
+                    walker.add(Calendar.DATE, -1);
+                    column++;
+                }
+                assertEquals(column, MonthGrid.getColumn(dayOfWeek, firstDayOfWeek));
+            }
+        }
+    }
+
+    /**
+     * Builds a grid the way CalendarView used to: a Calendar of the locale, keeping the first
+     * day of the week of the locale, is set to the first of the month at the given time of
+     * day and walked one day at a time, so DST transitions may move it. Returns the day
+     * count, the first cell, the row count and the epoch day of every cell, or null if a
+     * DST gap pushed the walk into the next day, where the old grid itself skipped a day.
+     */
+    private static int[] referenceGrid(int year, int month, long timeOfDay, Locale locale, TimeZone timeZone) {
+        // Set the date in the Gregorian calendar, the calendar of the locale may count years
+        // from another era..
+        final Calendar gregorian = new GregorianCalendar(timeZone);
+        gregorian.clear();
+        final int minuteOfDay = (int) (timeOfDay / MINUTE_MILLIS);
+        gregorian.set(year, month, 1, minuteOfDay / 60, minuteOfDay % 60);
+
+        final Calendar calendar = Calendar.getInstance(timeZone, locale);
+        calendar.setTimeInMillis(gregorian.getTimeInMillis());
+        if (isPastMidnight(calendar, minuteOfDay)) {
+            return null;
+        }
+
+        final int dayCount = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        int firstCell = 0;
+        while (calendar.get(Calendar.DAY_OF_WEEK) != calendar.getFirstDayOfWeek()) {
+            calendar.add(Calendar.DATE, -1);
+            firstCell++;
+            if (isPastMidnight(calendar, minuteOfDay)) {
+                return null;
+            }
+        }
+
+        final int rowCount = firstCell + dayCount > 35 ? 6 : 5;
+        final int[] grid = new int[3 + rowCount * 7];
+        grid[0] = dayCount;
+        grid[1] = firstCell;
+        grid[2] = rowCount;
+
+        for (int cell = 0; cell < rowCount * 7; cell++) {
+            final long millis = calendar.getTimeInMillis();
+            grid[3 + cell] = (int) Math.floor((millis + timeZone.getOffset(millis)) / (double) DAY_MILLIS);
+            calendar.add(Calendar.DATE, 1);
+            if (cell + 1 < rowCount * 7 && isPastMidnight(calendar, minuteOfDay)) {
+                return null;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @return true if a DST gap pushed the wall time of the calendar past midnight, into the
+     * next day. Gaps that only move the hour keep the day right.
+     */
+    private static boolean isPastMidnight(Calendar calendar, int minuteOfDay) {
+        return calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE) < minuteOfDay;
+    }
+
+    /**
+     * @return the current time of day in the given time zone, in whole minutes.
+     */
+    private static long getTimeOfDay(TimeZone timeZone) {
+        final Calendar now = Calendar.getInstance(timeZone);
+        return (now.get(Calendar.HOUR_OF_DAY) * 60 + now.get(Calendar.MINUTE)) * MINUTE_MILLIS;
+    }
+
+    private static String compare(int[] expected, MonthGrid actual) {
+        if (expected[0] != actual.getDayCount()) {
+            return "day count " + actual.getDayCount() + ", expected " + expected[0];
+        }
+        if (expected[1] != actual.getFirstCell()) {
+            return "first cell " + actual.getFirstCell() + ", expected " + expected[1];
+        }
+        if (expected[2] != actual.getRowCount()) {
+            return "row count " + actual.getRowCount() + ", expected " + expected[2];
+        }
+        for (int cell = 0; cell < expected[2] * 7; cell++) {
+            if (expected[3 + cell] != actual.getEpochDay(cell)) {
+                return "cell " + cell + " epoch day " + actual.getEpochDay(cell) + ", expected " + expected[3 + cell];
+            }
+            if (actual.isInMonth(cell) != (cell >= expected[1] && cell < expected[1] + expected[0])) {
+                return "cell " + cell + " in month " + actual.isInMonth(cell);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.samsistemas.calendarview.utility;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor running tasks in order on one daemon thread of its own, started on first use at
+ * background priority, with the main thread handler their results are posted to. Each kind
+ * of work, e.g. fonts, renders or imports, creates its own instance, so the library runs one
+ * background thread per kind and one kind never queues behind another.
+ *
+ * @hide Internal to the library, public only to be shared between its packages.
+ */
+public final class BackgroundExecutor implements Executor {
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+    private final String mThreadName;
+    private ExecutorService mExecutor;
+
+    /**
+     * @param threadName - the name of the thread, shown in traces.
+     */
+    public BackgroundExecutor(@NonNull String threadName) {
+        mThreadName = threadName;
+    }
+
+    /**
+     * Posts the given runnable to the main thread.
+     */
+    public static void postToMainThread(@NonNull Runnable runnable) {
+        sMainHandler.post(runnable);
+    }
+
+    /**
+     * @return the handler of the main thread.
+     */
+    @NonNull
+    public static Handler getMainHandler() {
+        return sMainHandler;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable runnable) {
+        getExecutor().execute(runnable);
+    }
+
+    /**
+     * @return the future of the given runnable, run on the background thread.
+     */
+    @NonNull
+    public Future<?> submit(@NonNull Runnable runnable) {
+        return getExecutor().submit(runnable);
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (null == mExecutor) {
+            mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull final Runnable runnable) {
+                    final Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, mThreadName);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return mExecutor;
+    }
+}
@@ -2,6 +2,8 @@ package com.samsistemas.calendarview.utility;
 
 import android.content.Context;
 
+import com.samsistemas.calendarview.core.MonthGrid;
+
 import java.text.DateFormatSymbols;
 import java.util.Calendar;
 import java.util.Locale;
@@ -72,18 +74,7 @@ public class CalendarUtility {
         calendar.setTime(currentCalendar.getTime());
         calendar.set(Calendar.DAY_OF_MONTH, 1);
 
-        int firstDayWeekPosition = calendar.getFirstDayOfWeek();
-        int dayPosition = calendar.get(Calendar.DAY_OF_WEEK);
-
-        if (firstDayWeekPosition == 1) {
-            return dayPosition - 1;
-        } else {
-            if (dayPosition == 1) {
-                return 6;
-            } else {
-                return dayPosition - 2;
-            }
-        }
+        return MonthGrid.getColumn(calendar.get(Calendar.DAY_OF_WEEK), firstDayOfWeek);
     }
 
     /**
@@ -93,16 +84,7 @@ public class CalendarUtility {
      * @return
      */
     public static int getWeekIndex(int weekIndex, Calendar calendar) {
-        int firstDayWeekPosition = calendar.getFirstDayOfWeek();
-        if (firstDayWeekPosition == 1) {
-            return weekIndex;
-        } else {
-            if (weekIndex == 1) {
-                return 7;
-            } else {
-                return weekIndex - 1;
-            }
-        }
+        return MonthGrid.getColumn(weekIndex, calendar.getFirstDayOfWeek()) + 1;
     }
 
     public static String getCurrentMonth(int monthIndex) {
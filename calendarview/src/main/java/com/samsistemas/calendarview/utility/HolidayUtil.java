@@ -0,0 +1,91 @@
+package com.samsistemas.calendarview.utility;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.support.annotation.NonNull;
+
+import com.samsistemas.calendarview.core.HolidayCalendar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the holiday calendars stored in the app assets, in the format of
+ * {@link HolidayCalendar}. Each asset is loaded at most once and never copied to the heap:
+ * uncompressed assets are memory mapped, compressed ones are read once into a direct buffer.
+ * <p>
+ * To map the asset, keep it uncompressed, e.g. with {@code aaptOptions { noCompress 'hcal' }}.
+ */
+public final class HolidayUtil {
+    private static final Map<String, HolidayCalendar> sCalendars = new HashMap<>();
+
+    private HolidayUtil() {
+    }
+
+    /**
+     * Returns the holiday calendar of the given asset, loading it on first use. The first
+     * call reads the asset, so it is better made off the main thread.
+     *
+     * @param context   - the context used to open the asset.
+     * @param assetPath - the path of the asset.
+     * @return the holiday calendar.
+     * @throws IOException if the asset cannot be read or is not a holiday calendar.
+     */
+    @NonNull
+    public static HolidayCalendar getHolidayCalendar(@NonNull Context context, @NonNull String assetPath) throws IOException {
+        synchronized (sCalendars) {
+            HolidayCalendar calendar = sCalendars.get(assetPath);
+            if (null == calendar) {
+                calendar = HolidayCalendar.read(readAsset(context, assetPath));
+                sCalendars.put(assetPath, calendar);
+            }
+            return calendar;
+        }
+    }
+
+    private static ByteBuffer readAsset(Context context, String assetPath) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getAssets().openFd(assetPath);
+        } catch (FileNotFoundException e) {
+            // Compressed assets have no file descriptor, copy them to native memory once..
+            descriptor = null;
+        }
+
+        if (null != descriptor) {
+            final FileInputStream in = descriptor.createInputStream();
+            try {
+                // The mapping outlives the channel..
+                return in.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        descriptor.getStartOffset(), descriptor.getLength());
+            } finally {
+                in.close();
+                descriptor.close();
+            }
+        }
+
+        final InputStream in = context.getAssets().open(assetPath);
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                out.write(chunk, 0, read);
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(out.size());
+            buffer.put(out.toByteArray());
+            buffer.flip();
+            return buffer;
+        } finally {
+            in.close();
+        }
+    }
+}
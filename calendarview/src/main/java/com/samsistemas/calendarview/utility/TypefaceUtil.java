@@ -0,0 +1,187 @@
+package com.samsistemas.calendarview.utility;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.samsistemas.calendarview.R;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Process-wide cache of the Roboto fonts bundled in the library assets. Each font is
+ * loaded at most once, either lazily on first use or on a background thread.
+ */
+public final class TypefaceUtil {
+    private static final String LOG = TypefaceUtil.class.getSimpleName();
+
+    /**
+     * Bundled fonts. The values match the calendarTypeface XML attribute.
+     */
+    public static final int ROBOTO_BLACK = 0;
+    public static final int ROBOTO_BLACK_ITALIC = 1;
+    public static final int ROBOTO_BOLD = 2;
+    public static final int ROBOTO_BOLD_ITALIC = 3;
+    public static final int ROBOTO_ITALIC = 4;
+    public static final int ROBOTO_LIGHT = 5;
+    public static final int ROBOTO_LIGHT_ITALIC = 6;
+    public static final int ROBOTO_MEDIUM = 7;
+    public static final int ROBOTO_MEDIUM_ITALIC = 8;
+    public static final int ROBOTO_REGULAR = 9;
+    public static final int ROBOTO_THIN = 10;
+    public static final int ROBOTO_THIN_ITALIC = 11;
+    public static final int ROBOTO_CONDENSED_BOLD = 12;
+    public static final int ROBOTO_CONDENSED_BOLD_ITALIC = 13;
+    public static final int ROBOTO_CONDENSED_ITALIC = 14;
+    public static final int ROBOTO_CONDENSED_LIGHT = 15;
+    public static final int ROBOTO_CONDENSED_LIGHT_ITALIC = 16;
+    public static final int ROBOTO_CONDENSED_REGULAR = 17;
+    public static final int ROBOTO_SLAB_BOLD = 18;
+    public static final int ROBOTO_SLAB_LIGHT = 19;
+    public static final int ROBOTO_SLAB_REGULAR = 20;
+    public static final int ROBOTO_SLAB_THIN = 21;
+
+    private static final int[] FONT_PATHS = {
+            R.string.roboto_black,
+            R.string.roboto_black_italic,
+            R.string.roboto_bold,
+            R.string.roboto_bold_italic,
+            R.string.roboto_italic,
+            R.string.roboto_light,
+            R.string.roboto_light_italic,
+            R.string.roboto_medium,
+            R.string.roboto_medium_italic,
+            R.string.roboto_regular,
+            R.string.roboto_thin,
+            R.string.roboto_thin_italic,
+            R.string.roboto_condensed_bold,
+            R.string.roboto_condensed_bold_italic,
+            R.string.roboto_condensed_italic,
+            R.string.roboto_condensed_light,
+            R.string.roboto_condensed_light_italic,
+            R.string.roboto_condensed_regular,
+            R.string.roboto_slab_bold,
+            R.string.roboto_slab_light,
+            R.string.roboto_slab_regular,
+            R.string.roboto_slab_thin
+    };
+
+    private static final AtomicReferenceArray<Typeface> sTypefaces = new AtomicReferenceArray<>(FONT_PATHS.length);
+    private static final Object sLoadLock = new Object();
+    private static final BackgroundExecutor sExecutor = new BackgroundExecutor("CalendarView-Typefaces");
+
+    private TypefaceUtil() {
+    }
+
+    /**
+     * Interface used to receive a font loaded on a background thread.
+     */
+    public interface OnTypefaceLoadedListener {
+
+        /**
+         * Called on the main thread once the font is available.
+         *
+         * @param font     - the requested font.
+         * @param typeface - the loaded typeface, or null if the font could not be loaded.
+         */
+        void onTypefaceLoaded(int font, @Nullable Typeface typeface);
+    }
+
+    /**
+     * Returns the given font, loading it on the calling thread if it is not cached yet.
+     *
+     * @param context - the context used to access the assets.
+     * @param font    - one of the font constants of this class.
+     * @return the typeface, or null if the font could not be loaded.
+     */
+    @Nullable
+    public static Typeface getTypeface(@NonNull Context context, int font) {
+        checkFont(font);
+        final Typeface cached = sTypefaces.get(font);
+        if (null != cached) {
+            return cached;
+        }
+
+        synchronized (sLoadLock) {
+            if (null == sTypefaces.get(font)) {
+                final Context appContext = context.getApplicationContext();
+                final String path = appContext.getString(FONT_PATHS[font]);
+                try {
+                    sTypefaces.set(font, Typeface.createFromAsset(appContext.getAssets(), path));
+                } catch (RuntimeException e) {
+                    Log.e(LOG, "Unable to load font " + path, e);
+                }
+            }
+            return sTypefaces.get(font);
+        }
+    }
+
+    /**
+     * Returns the given font only if it is already cached, never loading it.
+     *
+     * @param font - one of the font constants of this class.
+     * @return the typeface, or null if it was not loaded yet.
+     */
+    @Nullable
+    public static Typeface peekTypeface(int font) {
+        checkFont(font);
+        return sTypefaces.get(font);
+    }
+
+    /**
+     * Loads the given font on a background thread and delivers it on the main thread.
+     * If the font is already cached the listener is still called asynchronously.
+     *
+     * @param context  - the context used to access the assets.
+     * @param font     - one of the font constants of this class.
+     * @param listener - the listener to notify.
+     */
+    public static void getTypefaceAsync(@NonNull Context context, final int font,
+                                        @NonNull final OnTypefaceLoadedListener listener) {
+        checkFont(font);
+        final Context appContext = context.getApplicationContext();
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Typeface typeface = getTypeface(appContext, font);
+                BackgroundExecutor.postToMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onTypefaceLoaded(font, typeface);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Loads the given fonts on a background thread, so later calls find them cached.
+     *
+     * @param context - the context used to access the assets.
+     * @param fonts   - the font constants to load.
+     */
+    public static void preload(@NonNull Context context, final int... fonts) {
+        for (int font : fonts) {
+            checkFont(font);
+        }
+
+        final Context appContext = context.getApplicationContext();
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int font : fonts) {
+                    getTypeface(appContext, font);
+                }
+            }
+        });
+    }
+
+
+    private static void checkFont(int font) {
+        if (font < 0 || font >= FONT_PATHS.length) {
+            throw new IllegalArgumentException("Unknown font: " + font);
+        }
+    }
+}
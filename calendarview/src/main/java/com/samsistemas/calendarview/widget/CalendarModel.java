@@ -0,0 +1,543 @@
+package com.samsistemas.calendarview.widget;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import com.samsistemas.calendarview.core.EpochDays;
+import com.samsistemas.calendarview.core.EventDayFile;
+import com.samsistemas.calendarview.core.EventTimeline;
+import com.samsistemas.calendarview.core.HolidayCalendar;
+import com.samsistemas.calendarview.utility.BackgroundExecutor;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Data shared by any number of CalendarViews: the event dates and their timeline, the event
+ * days persisted by a previous run, the days loaded by an event source, the weekend days, the
+ * holidays and the localized names used by the title and the week header.
+ * <p>
+ * The data is published as immutable {@link Snapshot}s through an atomic reference. Every
+ * change builds a new snapshot, copying the unchanged parts by reference, so readers never
+ * lock and the cost of a change does not depend on the number of views showing the model.
+ * <p>
+ * The model may be changed from any thread. Listeners are always notified on the main
+ * thread, and changes made off the main thread before it gets to run are batched into a
+ * single notification.
+ */
+public final class CalendarModel {
+
+    /**
+     * Flags telling which parts of the model changed.
+     */
+    public static final int CHANGE_EVENTS = 1;
+    public static final int CHANGE_WEEKEND = 1 << 1;
+    public static final int CHANGE_FORMAT = 1 << 2;
+    public static final int CHANGE_HOLIDAYS = 1 << 3;
+
+    private final CopyOnWriteArrayList<OnModelChangedListener> mListeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Snapshot> mSnapshot = new AtomicReference<>();
+
+    // CHANGE_* flags published but not notified yet.
+    private final AtomicInteger mPendingChanges = new AtomicInteger();
+    private final Runnable mDispatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchPendingChanges();
+        }
+    };
+
+    public CalendarModel() {
+        this(Locale.getDefault());
+    }
+
+    /**
+     * @param locale - the locale used to format the month and day names.
+     */
+    public CalendarModel(@NonNull Locale locale) {
+        mSnapshot.set(new Snapshot(EventList.EMPTY, EventTimeline.EMPTY, null, null, 0, null, new FormatCache(locale)));
+    }
+
+    /**
+     * Interface used to be notified of the changes of a model.
+     */
+    public interface OnModelChangedListener {
+
+        /**
+         * Called on the main thread after a new snapshot was published.
+         *
+         * @param model   - the model that changed.
+         * @param changes - the CHANGE_* flags of the parts that changed.
+         */
+        void onModelChanged(@NonNull CalendarModel model, int changes);
+    }
+
+    /**
+     * @return the current snapshot, which never changes once published.
+     */
+    @NonNull
+    public Snapshot getSnapshot() {
+        return mSnapshot.get();
+    }
+
+    /**
+     * Replaces the event dates, dropping the event days set by {@link #setEventDays}. The
+     * dates are copied and sorted once, no matter how many views show this model. Each
+     * date is its own payload.
+     *
+     * @param eventDates - the new event dates, may be null.
+     */
+    public void setEventDates(Collection<Date> eventDates) {
+        publishEvents(null == eventDates ? EventList.EMPTY : EventList.of(eventDates, null));
+    }
+
+    /**
+     * Replaces the events, like {@link #setEventDates(Collection)}, with a payload per event
+     * handed to the {@link CalendarView.OnEventDateClickListener} when its day is clicked.
+     *
+     * @param eventDates - the date of each event.
+     * @param payloads   - the payload of each event, in the order of the dates.
+     */
+    public void setEvents(@NonNull List<Date> eventDates, @NonNull List<?> payloads) {
+        if (eventDates.size() != payloads.size()) {
+            throw new IllegalArgumentException("Expected " + eventDates.size() + " payloads, got " + payloads.size());
+        }
+        publishEvents(EventList.of(eventDates, payloads));
+    }
+
+    private void publishEvents(EventList events) {
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(events, EventTimeline.EMPTY, null, current.mSourceDays, current.mWeekend, current.mHolidays, current.mFormat)));
+        notifyChanged(CHANGE_EVENTS);
+    }
+
+    /**
+     * Adds the given event dates in one change, safe against concurrent writers. Each date
+     * is its own payload. Only the added dates are copied, so adding batches takes time and
+     * memory in proportion to the batches, and the dates may be reused once this returns.
+     *
+     * @param eventDates - the event dates to add.
+     */
+    public void addEventDates(@NonNull Collection<Date> eventDates) {
+        if (eventDates.isEmpty()) {
+            return;
+        }
+
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = mSnapshot.get();
+            // The timeline of the current events stays valid for their prefix..
+            next = new Snapshot(current.mEvents.append(eventDates), current.mTimeline, current.mEventDays, current.mSourceDays, current.mWeekend, current.mHolidays, current.mFormat);
+        } while (!mSnapshot.compareAndSet(current, next));
+        notifyChanged(CHANGE_EVENTS);
+    }
+
+    /**
+     * Removes the given event dates, and their payloads, in one change, safe against
+     * concurrent writers.
+     *
+     * @param eventDates - the event dates to remove.
+     */
+    public void removeEventDates(@NonNull Collection<Date> eventDates) {
+        if (eventDates.isEmpty()) {
+            return;
+        }
+
+        // Tested once per event date, so keep the lookups constant time..
+        final Set<Long> removed = new HashSet<>(eventDates.size() * 2);
+        for (Date date : eventDates) {
+            removed.add(date.getTime());
+        }
+
+        Snapshot current;
+        Snapshot next;
+        do {
+            current = mSnapshot.get();
+            final EventList events = current.mEvents.remove(removed);
+            if (events == current.mEvents) {
+                return;
+            }
+            next = new Snapshot(events, EventTimeline.EMPTY, current.mEventDays, current.mSourceDays, current.mWeekend, current.mHolidays, current.mFormat);
+        } while (!mSnapshot.compareAndSet(current, next));
+        notifyChanged(CHANGE_EVENTS);
+    }
+
+    /**
+     * Shows the days of an event file until the event dates are set, typically the file
+     * written by {@link #writeEventDays(File)} on the previous run. Mapping the file at
+     * startup shows its markers right away, while the fresh dates load in the background.
+     *
+     * @param eventDays - the event days, or null for none.
+     */
+    public void setEventDays(EventDayFile eventDays) {
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+            if (current.mEventDays == eventDays) {
+                return;
+            }
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(current.mEvents, current.mTimeline, eventDays, current.mSourceDays, current.mWeekend, current.mHolidays, current.mFormat)));
+        notifyChanged(CHANGE_EVENTS);
+    }
+
+    /**
+     * Shows the days loaded by a {@link SqliteEventSource}, next to the event dates and the
+     * event days. Kept apart from both, so setting event dates does not drop them.
+     *
+     * @param sourceDays - the days of the months loaded, or null for none.
+     */
+    void setSourceDays(EventDayFile sourceDays) {
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+            if (current.mSourceDays == sourceDays) {
+                return;
+            }
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(current.mEvents, current.mTimeline, current.mEventDays, sourceDays, current.mWeekend, current.mHolidays, current.mFormat)));
+        notifyChanged(CHANGE_EVENTS);
+    }
+
+    /**
+     * Atomically replaces the given file with the days of the current event dates, to be
+     * mapped with {@link EventDayFile#map(File)} on the next run. Writes to disk, so it is
+     * better called off the main thread.
+     *
+     * @param file - the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeEventDays(@NonNull File file) throws IOException {
+        final EventList events = mSnapshot.get().mEvents;
+        final int[] days = toEpochDays(events, 0);
+
+        // Sort and drop the duplicates in place..
+        Arrays.sort(days);
+        int count = 0;
+        for (int i = 0; i < days.length; i++) {
+            if (count == 0 || days[i] != days[count - 1]) {
+                days[count++] = days[i];
+            }
+        }
+        EventDayFile.write(file, Arrays.copyOf(days, count), null);
+    }
+
+    /**
+     * @return the epoch day of each event from the given one, in the default time zone.
+     */
+    private static int[] toEpochDays(EventList events, int start) {
+        final int[] days = new int[events.size() - start];
+        final Calendar calendar = Calendar.getInstance();
+        for (int i = 0; i < days.length; i++) {
+            calendar.setTimeInMillis(events.getMillis(start + i));
+            days[i] = EpochDays.of(calendar);
+        }
+        return days;
+    }
+
+    /**
+     * @param weekend - the weekend days, as a mask of the weekend flags of the CalendarView
+     *                attributes, with bit 0 for {@link java.util.Calendar#SUNDAY}.
+     */
+    public void setWeekend(int weekend) {
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+            if (current.mWeekend == weekend) {
+                return;
+            }
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(current.mEvents, current.mTimeline, current.mEventDays, current.mSourceDays, weekend, current.mHolidays, current.mFormat)));
+        notifyChanged(CHANGE_WEEKEND);
+    }
+
+    /**
+     * @param holidays - the holidays of a region, or null for none. The holidays are read
+     *                 from their buffer when tested, so switching regions copies nothing.
+     */
+    public void setHolidays(HolidayCalendar.Region holidays) {
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+            if (current.mHolidays == holidays) {
+                return;
+            }
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(current.mEvents, current.mTimeline, current.mEventDays, current.mSourceDays, current.mWeekend, holidays, current.mFormat)));
+        notifyChanged(CHANGE_HOLIDAYS);
+    }
+
+    /**
+     * @param locale - the locale used to format the month and day names.
+     */
+    public void setLocale(@NonNull Locale locale) {
+        FormatCache format = null;
+        Snapshot current;
+        do {
+            current = mSnapshot.get();
+            if (current.mFormat.mLocale.equals(locale)) {
+                return;
+            }
+            if (null == format) {
+                format = new FormatCache(locale);
+            }
+        } while (!mSnapshot.compareAndSet(current, new Snapshot(current.mEvents, current.mTimeline, current.mEventDays, current.mSourceDays, current.mWeekend, current.mHolidays, format)));
+        notifyChanged(CHANGE_FORMAT);
+    }
+
+    public void addOnModelChangedListener(@NonNull OnModelChangedListener listener) {
+        mListeners.addIfAbsent(listener);
+    }
+
+    public void removeOnModelChangedListener(@NonNull OnModelChangedListener listener) {
+        mListeners.remove(listener);
+    }
+
+    private void notifyChanged(int changes) {
+        int pending;
+        do {
+            pending = mPendingChanges.get();
+        } while (!mPendingChanges.compareAndSet(pending, pending | changes));
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            // Changes on the main thread are delivered right away, along with any batched ones..
+            BackgroundExecutor.getMainHandler().removeCallbacks(mDispatchRunnable);
+            dispatchPendingChanges();
+        } else if (pending == 0) {
+            // The first change of a batch schedules the notification, later ones join it..
+            BackgroundExecutor.postToMainThread(mDispatchRunnable);
+        }
+    }
+
+    private void dispatchPendingChanges() {
+        final int changes = mPendingChanges.getAndSet(0);
+        if (changes == 0) {
+            return;
+        }
+
+        for (OnModelChangedListener listener : mListeners) {
+            listener.onModelChanged(this, changes);
+        }
+    }
+
+    /**
+     * Immutable state of a {@link CalendarModel}, safe to keep and read from any thread.
+     */
+    public static final class Snapshot {
+        private final EventList mEvents;
+        private final List<Date> mEventDates;
+        private final List<Object> mEventPayloads;
+        private final EventDayFile mEventDays;
+        private final EventDayFile mSourceDays;
+        private final int mWeekend;
+        private final HolidayCalendar.Region mHolidays;
+        private final FormatCache mFormat;
+
+        // Timeline of a prefix of the events, extended to all of them on first use, as batched
+        // imports publish many snapshots never searched..
+        private volatile EventTimeline mTimeline;
+
+        private Snapshot(EventList events, EventTimeline timeline, EventDayFile eventDays,
+                         EventDayFile sourceDays, int weekend, HolidayCalendar.Region holidays, FormatCache format) {
+            mEvents = events;
+            mEventDates = events.getDates();
+            mEventPayloads = events.getPayloads();
+            mTimeline = timeline;
+            mEventDays = eventDays;
+            mSourceDays = sourceDays;
+            mWeekend = weekend;
+            mHolidays = holidays;
+            mFormat = format;
+        }
+
+        /**
+         * @return the unmodifiable list of event dates, kept as times, so each read returns
+         * a new Date.
+         */
+        @NonNull
+        public List<Date> getEventDates() {
+            return mEventDates;
+        }
+
+        /**
+         * @return the unmodifiable list of event payloads, in the order of the event dates.
+         */
+        @NonNull
+        public List<?> getEventPayloads() {
+            return mEventPayloads;
+        }
+
+        /**
+         * @param epochDay - the day to look up.
+         * @return the payloads of the events of the given day, in O(log n).
+         */
+        @NonNull
+        public List<Object> getEventPayloads(int epochDay) {
+            final int[] events = getTimeline().getEvents(epochDay);
+            final List<Object> payloads = new ArrayList<>(events.length);
+            for (int event : events) {
+                payloads.add(mEvents.getPayload(event));
+            }
+            return payloads;
+        }
+
+        /**
+         * @return the event dates sorted by day, keeping their year.
+         */
+        @NonNull
+        public EventTimeline getTimeline() {
+            EventTimeline timeline = mTimeline;
+            final int count = timeline.size();
+            if (count < mEvents.size()) {
+                // Only the events added since are sorted, racing threads build equal timelines..
+                timeline = mTimeline = timeline.with(toEpochDays(mEvents, count), mEvents.size() - count);
+            }
+            return timeline;
+        }
+
+        /**
+         * @param epochDay - the day to start from, excluded.
+         * @return the first day after the given one with an event date, event day or event
+         * source day, or {@link EventTimeline#NONE}.
+         */
+        public int nextEventDay(int epochDay) {
+            int next = getTimeline().next(epochDay);
+            if (null != mEventDays) {
+                next = getFirst(next, mEventDays.next(epochDay));
+            }
+            if (null != mSourceDays) {
+                next = getFirst(next, mSourceDays.next(epochDay));
+            }
+            return next;
+        }
+
+        private static int getFirst(int day, int otherDay) {
+            if (day == EventTimeline.NONE || otherDay == EventTimeline.NONE) {
+                return day == EventTimeline.NONE ? otherDay : day;
+            }
+            return Math.min(day, otherDay);
+        }
+
+        /**
+         * @param epochDay - the day to start from, excluded.
+         * @return the last day before the given one with an event date, event day or event
+         * source day, or {@link EventTimeline#NONE}.
+         */
+        public int previousEventDay(int epochDay) {
+            // NONE is the smallest int, so the latest day wins..
+            int previous = getTimeline().previous(epochDay);
+            if (null != mEventDays) {
+                previous = Math.max(previous, mEventDays.previous(epochDay));
+            }
+            if (null != mSourceDays) {
+                previous = Math.max(previous, mSourceDays.previous(epochDay));
+            }
+            return previous;
+        }
+
+        /**
+         * @return the event days shown until the event dates are set, or null if there are none.
+         */
+        public EventDayFile getEventDays() {
+            return mEventDays;
+        }
+
+        /**
+         * @param epochDay - the day to test.
+         * @return true if the day has an event, from the event dates, the event days or the
+         * event source. Dates keep their year, so an event of one year does not mark the same
+         * day of another.
+         */
+        public boolean hasEvent(int epochDay) {
+            return getTimeline().contains(epochDay) || (null != mEventDays && mEventDays.contains(epochDay))
+                    || (null != mSourceDays && mSourceDays.contains(epochDay));
+        }
+
+        public int getWeekend() {
+            return mWeekend;
+        }
+
+        /**
+         * @param dayOfWeek - the day of the week, from Calendar.SUNDAY to Calendar.SATURDAY.
+         * @return true if the given day of the week is part of the weekend.
+         */
+        public boolean isWeekend(int dayOfWeek) {
+            return (mWeekend & (1 << (dayOfWeek - 1))) != 0;
+        }
+
+        /**
+         * @return the holidays shown, or null if there are none.
+         */
+        public HolidayCalendar.Region getHolidays() {
+            return mHolidays;
+        }
+
+        /**
+         * @param epochDay - the day to test.
+         * @return true if the day is one of the holidays shown.
+         */
+        public boolean isHoliday(int epochDay) {
+            return null != mHolidays && mHolidays.isHoliday(epochDay);
+        }
+
+        @NonNull
+        public Locale getLocale() {
+            return mFormat.mLocale;
+        }
+
+        /**
+         * @param month - the month, from 0 to 11.
+         * @return the upper case name of the month, as shown in the title.
+         */
+        @NonNull
+        public String getMonthTitle(int month) {
+            return mFormat.mMonthTitles[month];
+        }
+
+        /**
+         * @param dayOfWeek - the day of the week, from Calendar.SUNDAY to Calendar.SATURDAY.
+         * @return the upper case short name of the day, as shown in the week header.
+         */
+        @NonNull
+        public String getDayOfWeekTitle(int dayOfWeek) {
+            return mFormat.mDayOfWeekTitles[dayOfWeek];
+        }
+    }
+
+    /**
+     * Names of the months and days of the week, formatted once per locale.
+     */
+    private static final class FormatCache {
+        final Locale mLocale;
+        final String[] mMonthTitles = new String[12];
+        final String[] mDayOfWeekTitles = new String[8];
+
+        FormatCache(Locale locale) {
+            mLocale = locale;
+
+            final DateFormatSymbols symbols = new DateFormatSymbols(locale);
+            final String[] months = symbols.getMonths();
+            for (int i = 0; i < mMonthTitles.length; i++) {
+                mMonthTitles[i] = months[i].toUpperCase(locale);
+            }
+
+            final String[] weekdays = symbols.getShortWeekdays();
+            for (int i = 1; i < mDayOfWeekTitles.length; i++) {
+                final String weekday = weekdays[i];
+                mDayOfWeekTitles[i] = weekday.substring(0, Math.min(weekday.length(), 3)).toUpperCase(locale);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.samsistemas.calendarview.widget;
+
+import android.os.Debug;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Opt-in watchdog for the work the CalendarView does on the main thread. While enabled, every
+ * refresh, decorator pass and listener dispatch is timed, and optionally its allocations are
+ * counted, and operations over the budget of the {@link Policy} are reported with a breakdown
+ * of their sections. Meant for debug and QA builds only.
+ */
+public final class CalendarStrictMode {
+    private static final String LOG = CalendarStrictMode.class.getSimpleName();
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_SECTIONS = 16;
+
+    private static volatile Policy sPolicy;
+
+    // Open operations and the sections of the outermost one, only used on the main thread..
+    private static final String[] sNames = new String[MAX_DEPTH];
+    private static final long[] sStartNanos = new long[MAX_DEPTH];
+    private static final int[] sStartAllocations = new int[MAX_DEPTH];
+    private static int sDepth;
+
+    // Sections opened past the maximum depth, not timed but still closed by end()..
+    private static int sOverflowDepth;
+
+    private static final String[] sSectionNames = new String[MAX_SECTIONS];
+    private static final long[] sSectionNanos = new long[MAX_SECTIONS];
+    private static final int[] sSectionAllocations = new int[MAX_SECTIONS];
+    private static int sSectionCount;
+
+    private CalendarStrictMode() {
+    }
+
+    /**
+     * Starts watching the CalendarViews with the given policy. Must be called on the main thread.
+     *
+     * @param policy - the budgets and penalties to apply.
+     */
+    @SuppressWarnings("deprecation")
+    public static void enable(@NonNull Policy policy) {
+        final Policy previous = sPolicy;
+        if (null != previous && previous.mAllocationThreshold > 0) {
+            Debug.stopAllocCounting();
+        }
+        if (policy.mAllocationThreshold > 0) {
+            Debug.startAllocCounting();
+        }
+
+        sDepth = 0;
+        sOverflowDepth = 0;
+        sPolicy = policy;
+    }
+
+    /**
+     * Stops watching the CalendarViews. Must be called on the main thread.
+     */
+    @SuppressWarnings("deprecation")
+    public static void disable() {
+        final Policy previous = sPolicy;
+        sPolicy = null;
+        if (null != previous && previous.mAllocationThreshold > 0) {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return null != sPolicy;
+    }
+
+    /**
+     * Opens an operation, or a section of the operation already open. Every call must be
+     * paired with {@link #end()}. Does nothing when disabled or off the main thread.
+     *
+     * @param name - the name of the operation, reported in the breakdown.
+     */
+    static void begin(String name) {
+        final Policy policy = sPolicy;
+        if (null == policy || Looper.myLooper() != Looper.getMainLooper()) {
+            return;
+        }
+
+        if (sDepth >= MAX_DEPTH) {
+            sOverflowDepth++;
+            return;
+        }
+
+        if (sDepth == 0) {
+            sSectionCount = 0;
+        }
+
+        sNames[sDepth] = name;
+        sStartAllocations[sDepth] = policy.mAllocationThreshold > 0 ? getAllocationCount() : 0;
+        sStartNanos[sDepth] = System.nanoTime();
+        sDepth++;
+    }
+
+    /**
+     * Closes the operation or section opened by the last call to {@link #begin(String)},
+     * reporting the operation if it was the outermost one and went over budget.
+     */
+    static void end() {
+        final Policy policy = sPolicy;
+        if (null == policy || Looper.myLooper() != Looper.getMainLooper() || sDepth == 0) {
+            return;
+        }
+
+        if (sOverflowDepth > 0) {
+            sOverflowDepth--;
+            return;
+        }
+
+        final long nanos = System.nanoTime();
+        sDepth--;
+        final long elapsed = nanos - sStartNanos[sDepth];
+        final int allocations = policy.mAllocationThreshold > 0 ?
+                getAllocationCount() - sStartAllocations[sDepth] : 0;
+
+        if (sDepth > 0) {
+            addSection(sNames[sDepth], elapsed, allocations);
+            return;
+        }
+
+        final boolean overTime = elapsed > policy.mFrameBudgetNanos;
+        final boolean overAllocations = policy.mAllocationThreshold > 0 && allocations > policy.mAllocationThreshold;
+        if (overTime || overAllocations) {
+            onViolation(policy, buildMessage(policy, sNames[0], elapsed, allocations));
+        }
+    }
+
+    private static void addSection(String name, long nanos, int allocations) {
+        // Sections with the same name are added up, e.g. the decorators of every day..
+        for (int i = 0; i < sSectionCount; i++) {
+            if (sSectionNames[i].equals(name)) {
+                sSectionNanos[i] += nanos;
+                sSectionAllocations[i] += allocations;
+                return;
+            }
+        }
+
+        if (sSectionCount < MAX_SECTIONS) {
+            sSectionNames[sSectionCount] = name;
+            sSectionNanos[sSectionCount] = nanos;
+            sSectionAllocations[sSectionCount] = allocations;
+            sSectionCount++;
+        }
+    }
+
+    private static String buildMessage(Policy policy, String name, long nanos, int allocations) {
+        final StringBuilder message = new StringBuilder()
+                .append(name)
+                .append(String.format(Locale.US, " took %.2fms (budget %.2fms)", nanos / 1e6, policy.mFrameBudgetNanos / 1e6));
+        if (policy.mAllocationThreshold > 0) {
+            message.append(String.format(Locale.US, ", %d allocations (threshold %d)",
+                    allocations, policy.mAllocationThreshold));
+        }
+
+        for (int i = 0; i < sSectionCount; i++) {
+            message.append(i == 0 ? ": " : ", ")
+                    .append(sSectionNames[i])
+                    .append(String.format(Locale.US, " %.2fms", sSectionNanos[i] / 1e6));
+            if (policy.mAllocationThreshold > 0) {
+                message.append(" / ").append(sSectionAllocations[i]);
+            }
+        }
+        return message.toString();
+    }
+
+    private static void onViolation(Policy policy, String message) {
+        if (policy.mPenaltyLog) {
+            Log.w(LOG, message);
+        }
+        if (policy.mPenaltyDeath) {
+            throw new Violation(message);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int getAllocationCount() {
+        return Debug.getThreadAllocCount();
+    }
+
+    /**
+     * Budgets and penalties of the strict mode, created with a {@link Builder}.
+     */
+    public static final class Policy {
+        final long mFrameBudgetNanos;
+        final int mAllocationThreshold;
+        final boolean mPenaltyLog;
+        final boolean mPenaltyDeath;
+
+        private Policy(Builder builder) {
+            mFrameBudgetNanos = builder.mFrameBudgetNanos;
+            mAllocationThreshold = builder.mAllocationThreshold;
+            mPenaltyLog = builder.mPenaltyLog;
+            mPenaltyDeath = builder.mPenaltyDeath;
+        }
+
+        public static final class Builder {
+            private long mFrameBudgetNanos = 16000000L;
+            private int mAllocationThreshold;
+            private boolean mPenaltyLog;
+            private boolean mPenaltyDeath;
+
+            /**
+             * @param frameBudgetMillis - the time an operation may take, 16ms by default.
+             */
+            public Builder setFrameBudget(float frameBudgetMillis) {
+                mFrameBudgetNanos = (long) (frameBudgetMillis * 1000000);
+                return this;
+            }
+
+            /**
+             * @param allocationThreshold - the number of objects an operation may allocate,
+             *                            counted with the Debug allocation counters. Zero,
+             *                            the default, does not count allocations.
+             */
+            public Builder setAllocationThreshold(int allocationThreshold) {
+                mAllocationThreshold = Math.max(0, allocationThreshold);
+                return this;
+            }
+
+            /**
+             * Logs every violation.
+             */
+            public Builder penaltyLog() {
+                mPenaltyLog = true;
+                return this;
+            }
+
+            /**
+             * Throws a {@link Violation} on every violation.
+             */
+            public Builder penaltyDeath() {
+                mPenaltyDeath = true;
+                return this;
+            }
+
+            public Policy build() {
+                if (!mPenaltyLog && !mPenaltyDeath) {
+                    mPenaltyLog = true;
+                }
+                return new Policy(this);
+            }
+        }
+    }
+
+    /**
+     * Thrown on the main thread when an operation goes over budget with
+     * {@link Policy.Builder#penaltyDeath()}.
+     */
+    public static final class Violation extends RuntimeException {
+
+        Violation(String message) {
+            super(message);
+        }
+    }
+}
@@ -16,23 +16,36 @@
 package com.samsistemas.calendarview.widget;
 
 import android.app.AlertDialog;
-import android.app.DatePickerDialog;
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.os.Build;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
-import android.support.v4.view.GestureDetectorCompat;
 import android.support.v4.view.MotionEventCompat;
 import android.support.v4.view.ViewCompat;
+import android.support.v4.view.VelocityTrackerCompat;
 import android.support.v4.view.ViewConfigurationCompat;
+import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
+import android.support.v4.widget.ExploreByTouchHelper;
 import android.util.AttributeSet;
-import android.view.GestureDetector;
+import android.util.DisplayMetrics;
+import android.util.TypedValue;
+import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
@@ -40,7 +53,8 @@ import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.ViewParent;
-import android.widget.DatePicker;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.Scroller;
@@ -49,9 +63,17 @@ import android.widget.TextView;
 import com.samsistemas.calendarview.R;
 import com.samsistemas.calendarview.decor.DayDecorator;
 import com.samsistemas.calendarview.utility.CalendarUtility;
-
-import java.text.DateFormatSymbols;
-import java.text.SimpleDateFormat;
+import com.samsistemas.calendarview.core.DayIntervalSet;
+import com.samsistemas.calendarview.core.DayLabels;
+import com.samsistemas.calendarview.core.DaySelection;
+import com.samsistemas.calendarview.core.EpochDays;
+import com.samsistemas.calendarview.core.EventDayFile;
+import com.samsistemas.calendarview.core.EventTimeline;
+import com.samsistemas.calendarview.core.HolidayCalendar;
+import com.samsistemas.calendarview.core.MonthGrid;
+import com.samsistemas.calendarview.utility.TypefaceUtil;
+
+import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -81,7 +103,6 @@ public class CalendarView extends LinearLayout {
      */
     int SCROLL_STATE_SETTLING = 2;
 
-    boolean USE_CACHE = false;
     int MIN_DISTANCE_FOR_FLING = 25; // dips
     int DEFAULT_GUTTER_SIZE = 16; // dips
     int MIN_FLING_VELOCITY = 400; // dips
@@ -96,9 +117,62 @@ public class CalendarView extends LinearLayout {
     // "catching" the flinging Calendar.
     int CLOSE_ENOUGH = 2; // dp
 
-    private boolean mScrollingCacheEnabled;
+    /**
+     * Default number of screen-sized months kept by the snapshot cache of each view.
+     */
+    static final int DEFAULT_SNAPSHOT_CACHE_MONTHS = 3;
+
+    /**
+     * Flags telling which parts of the calendar have to be rebuilt.
+     */
+    static final int DIRTY_TITLE = 1;
+    static final int DIRTY_WEEK = 1 << 1;
+    static final int DIRTY_DAYS = 1 << 2;
+    static final int DIRTY_ALL = DIRTY_TITLE | DIRTY_WEEK | DIRTY_DAYS;
+
+    /**
+     * Sentinel value for no bundled font requested.
+     */
+    static final int NO_FONT = -1;
+
+    /**
+     * Time spent on day decorators per frame in progressive decoration, a quarter of a
+     * 60 Hz frame so layout and drawing still fit.
+     */
+    static final long DECORATION_FRAME_BUDGET_NANOS = 4000000L;
+
+    /**
+     * Month keys standing for no bounds, far enough from the int limits to subtract safely.
+     */
+    static final int NO_MIN_MONTH = Integer.MIN_VALUE / 2;
+    static final int NO_MAX_MONTH = Integer.MAX_VALUE / 2;
+
+    /**
+     * Alpha of the back and next buttons when a bound stops them.
+     */
+    static final float DISABLED_BUTTON_ALPHA = 0.38f;
+
+    /**
+     * Default maximum number of months a single fling may skip.
+     */
+    int DEFAULT_MAX_FLING_MONTHS = 6;
+
+    // Duration of each step of the title count-up, and of the whole count-up.
+    int TITLE_STEP_DURATION = 40; // ms
+    int MAX_TITLE_ANIMATION_DURATION = 320; // ms
+
+    /**
+     * Modes of the calendar: the whole month grid, or a strip with the seven days of a week.
+     */
+    public static final int MODE_MONTH = 0;
+    public static final int MODE_WEEK = 1;
+
+    // Duration of the expand and collapse between the modes.
+    int MODE_ANIMATION_DURATION = 250; // ms
+
     private boolean mIsBeingDragged;
     private boolean mIsUnableToDrag;
+    private boolean mIsNestedScrolling;
     private int mDefaultGutterSize;
     private int mTouchSlop;
 
@@ -129,30 +203,86 @@ public class CalendarView extends LinearLayout {
 
     private int mScrollState = SCROLL_STATE_IDLE;
 
+    /**
+     * Descendants able to scroll horizontally, and their hit rects cached on each layout pass.
+     */
+    private final List<View> mScrollableChildren = new ArrayList<>();
+    private final List<Rect> mScrollableChildRects = new ArrayList<>();
+
     private final Runnable mEndScrollRunnable = new Runnable() {
         public void run() {
             setScrollState(SCROLL_STATE_IDLE);
         }
     };
 
-    // Gesture Detector used to handle Swipe gestures.
-    private GestureDetectorCompat mGestureDetector;
+    // True while the gesture may still be a tap, and once it turned into a long press..
+    private boolean mIsTapping;
+    private boolean mIsLongPressed;
+    private int mTapSlop;
+    private final Runnable mShowPressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            pressCellAt(mInitialMotionX, mInitialMotionY);
+        }
+    };
+    private final Runnable mLongPressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mIsTapping = false;
+            mIsLongPressed = true;
+            performDayClick(mInitialMotionX, mInitialMotionY, true);
+        }
+    };
+    private DayGridAccessibilityHelper mAccessibilityHelper;
+
+    // Cell drawn as pressed while it is being tapped, or -1..
+    private int mPressedCell = -1;
+    private final Runnable mUnpressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            setPressedCell(-1);
+        }
+    };
     private Context mContext;
-    private View mView;
+    private View mTitleLayout;
+    private TextView mDateTitle;
+    private LinearLayout mWeekLayout;
+    private LinearLayout mDaysContainer;
     private ImageView mNextButton;
     private ImageView mBackButton;
 
+    // Views of the calendar grid, built in code..
+    private final TextView[] mDayOfWeekViews = new TextView[7];
+    private final LinearLayout[] mWeekRows = new LinearLayout[6];
+    private final DayView[] mDayViews = new DayView[42];
+
+    // Grid model of the current month, shared with the MonthRenderer..
+    private MonthGrid mGrid;
+
+    // Days that can be shown and clicked, and days disabled within them.
+    private int mMinEpochDay = Integer.MIN_VALUE;
+    private int mMaxEpochDay = Integer.MAX_VALUE;
+    private int mMinMonthKey = NO_MIN_MONTH;
+    private int mMaxMonthKey = NO_MAX_MONTH;
+    private DayIntervalSet mDisabledDays = DayIntervalSet.EMPTY;
+
+    // Secondary labels drawn by the cells under the day numbers, null for none.
+    private DayLabels mDayLabels;
+    private final Calendar mTouchCalendar = Calendar.getInstance();
+
     //Listeners used by the Calendar...
     private OnMonthTitleClickListener mOnMonthTitleClickListener;
     private OnDateClickListener mOnDateClickListener;
+    private OnEventDateClickListener mOnEventDateClickListener;
     private OnDateLongClickListener mOnDateLongClickListener;
     private OnMonthChangedListener mOnMonthChangedListener;
 
     private Calendar mCalendar;
-    private Date mLastSelectedDay;
+    private final DaySelection mSelection = new DaySelection();
 
     //Customizable variables...
     private Typeface mTypeface;
+    private int mTypefaceFont = NO_FONT;
     private int mDisabledDayBackgroundColor;
     private int mDisabledDayTextColor;
     private int mCalendarBackgroundColor;
@@ -165,20 +295,70 @@ public class CalendarView extends LinearLayout {
     private int mDayOfWeekTextEventColor;
     private int mCurrentDayOfMonth;
     private int mWeekendColor;
-    private int mWeekend;
+    private int mHolidayColor;
 
     private List<DayDecorator> mDecoratorsList = null;
     private boolean mIsOverflowDateVisible = true;
     private int mFirstDayOfWeek = Calendar.SUNDAY;
     private int mCurrentMonthIndex = 0;
+    private int mMaxFlingMonths = DEFAULT_MAX_FLING_MONTHS;
+    private boolean mIsTitleAnimationEnabled = true;
+    private ValueAnimator mTitleAnimator;
+    private MonthPickerDialog mMonthPicker;
+
+    // In week mode only the row of the month grid at mWeekRow is bound and laid out..
+    private int mCalendarMode = MODE_MONTH;
+    private int mWeekRow;
+    private ValueAnimator mModeAnimator;
+
+    // Mask of the week rows shown, -1 when unknown..
+    private int mVisibleRows = -1;
+
+    // Events, weekend days and localized names, possibly shared with other CalendarViews.
+    private CalendarModel mModel = new CalendarModel();
+    private SqliteEventSource mEventSource;
+    private CalendarModel.Snapshot mRenderedSnapshot;
+    private final CalendarModel.OnModelChangedListener mModelListener = new CalendarModel.OnModelChangedListener() {
+        @Override
+        public void onModelChanged(@NonNull CalendarModel model, int changes) {
+            invalidateCalendar(getDirtyFlags(changes));
+        }
+    };
+
+
+    // Snapshots of recently rendered months, and the one being shown until the real views rebind.
+    private MonthSnapshotCache mSnapshotCache;
+    private Bitmap mPendingSnapshot;
 
-    private List<Date> eventDates = new ArrayList<>();
+    // Parts of the calendar that need to be rebuilt on the next refresh.
+    private int mDirtyFlags;
+    private int mEditDepth;
+    private boolean mIsAttached;
+    private boolean mRefreshScheduled;
 
-    // Day of weekend
-    private int[] mTotalDayOfWeekend;
+    // Cells left to decorate in progressive decoration, from the next one to the end.
+    private boolean mIsProgressiveDecoration;
+    private int mNextDecoratedCell;
+    private int mEndDecoratedCell;
+    private boolean mDecorationScheduled;
+
+    private final Runnable mDecorationRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mDecorationScheduled = false;
+            decorateNextCells();
+        }
+    };
 
-    // true for ordinary day, false for a weekend.
-    private boolean mIsCommonDay;
+    private final Runnable mRefreshRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mRefreshScheduled = false;
+            if (mDirtyFlags != 0) {
+                performRefresh();
+            }
+        }
+    };
 
     /**
      * Constructor with arguments. It receives a
@@ -188,9 +368,6 @@ public class CalendarView extends LinearLayout {
      */
     public CalendarView(Context context) {
         this(context, null);
-
-        //Initialize the gesture listener needed..
-        mGestureDetector = new GestureDetectorCompat(context, new CalendarGestureDetector());
     }
 
     /**
@@ -204,9 +381,6 @@ public class CalendarView extends LinearLayout {
         super(context, attrs);
         mContext = context;
 
-        //Initialize the gesture listener needed..
-        mGestureDetector = new GestureDetectorCompat(context, new CalendarGestureDetector());
-
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.CUPCAKE) {
             if (isInEditMode()) {
                 return;
@@ -233,6 +407,7 @@ public class CalendarView extends LinearLayout {
         final int daySelectedBackground = ContextCompat.getColor(mContext, R.color.selected_day_background);
         final int dayCurrent = ContextCompat.getColor(mContext, R.color.current_day_of_month);
         final int weekendColor = ContextCompat.getColor(mContext, R.color.weekend_color);
+        final int holidayColor = ContextCompat.getColor(mContext, R.color.holiday_color);
 
         try {
             mCalendarBackgroundColor = a.getColor(R.styleable.MaterialCalendarView_calendarBackgroundColor, white);
@@ -247,7 +422,10 @@ public class CalendarView extends LinearLayout {
             mSelectedDayTextColor = a.getColor(R.styleable.MaterialCalendarView_selectedDayTextColor, white);
             mCurrentDayOfMonth = a.getColor(R.styleable.MaterialCalendarView_currentDayOfMonthColor, dayCurrent);
             mWeekendColor = a.getColor(R.styleable.MaterialCalendarView_weekendColor, weekendColor);
-            mWeekend = a.getInteger(R.styleable.MaterialCalendarView_weekend, 0);
+            mHolidayColor = a.getColor(R.styleable.MaterialCalendarView_holidayColor, holidayColor);
+            mModel.setWeekend(a.getInteger(R.styleable.MaterialCalendarView_weekend, 0));
+            mTypefaceFont = a.getInt(R.styleable.MaterialCalendarView_calendarTypeface, NO_FONT);
+            mCalendarMode = a.getInt(R.styleable.MaterialCalendarView_calendarMode, MODE_MONTH);
         } finally {
             if (null != a) {
                 a.recycle();
@@ -267,29 +445,69 @@ public class CalendarView extends LinearLayout {
 
         //Variables associated to Swipe..
         mTouchSlop = ViewConfigurationCompat.getScaledPagingTouchSlop(configuration);
+        mTapSlop = configuration.getScaledTouchSlop();
         mMinimumVelocity = (int) (MIN_FLING_VELOCITY * density);
         mMaximumVelocity = configuration.getScaledMaximumFlingVelocity();
         mFlingDistance = (int) (MIN_DISTANCE_FOR_FLING * density);
         mCloseEnough = (int) (CLOSE_ENOUGH * density);
         mDefaultGutterSize = (int) (DEFAULT_GUTTER_SIZE * density);
 
-        //Inflate current view..
-        mView = LayoutInflater.from(mContext).inflate(R.layout.material_calendar_with_title, this, true);
+        //Build current view, only the title is inflated..
+        setOrientation(VERTICAL);
+
+        mTitleLayout = LayoutInflater.from(mContext).inflate(R.layout.material_calendar_title, this, false);
+        addView(mTitleLayout);
+
+        mWeekLayout = createWeekLayout();
+        addView(mWeekLayout);
+
+        mDaysContainer = new LinearLayout(mContext);
+        mDaysContainer.setOrientation(VERTICAL);
+        final LayoutParams daysParams = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+        daysParams.gravity = Gravity.CENTER;
+        addView(mDaysContainer, daysParams);
+
+        // The sixth week row is only created when a month needs it..
+        for (int row = 0; row < 5; row++) {
+            createWeekRow(row);
+        }
+
+        // The cells are not click targets, accessibility services reach the days through
+        // virtual views instead..
+        mAccessibilityHelper = new DayGridAccessibilityHelper();
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
+        ViewCompat.setImportantForAccessibility(mDaysContainer,
+                ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO_HIDE_DESCENDANTS);
+
+        mSnapshotCache = new MonthSnapshotCache(getDefaultSnapshotCacheSize());
 
         //Get buttons for Calendar and set it´s listeners..
-        mBackButton = (ImageView) mView.findViewById(R.id.left_button);
-        mNextButton = (ImageView) mView.findViewById(R.id.right_button);
+        mDateTitle = (TextView) mTitleLayout.findViewById(R.id.dateTitle);
+        mBackButton = (ImageView) mTitleLayout.findViewById(R.id.left_button);
+        mNextButton = (ImageView) mTitleLayout.findViewById(R.id.right_button);
 
         mBackButton.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
-                mCurrentMonthIndex--;
-                mCalendar = Calendar.getInstance(Locale.getDefault());
-                mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
+                if (mCalendarMode == MODE_WEEK) {
+                    changeWeek(-1);
+                } else {
+                    changeMonth(mCurrentMonthIndex - 1);
+                }
+            }
+        });
 
-                refreshCalendar(mCalendar);
-                if (mOnMonthChangedListener != null) {
-                    mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
+        mDateTitle.setOnClickListener(new OnClickListener() {
+            @Override
+            public void onClick(final View v) {
+                if (mOnMonthTitleClickListener != null) {
+                    CalendarStrictMode.begin("OnMonthTitleClickListener");
+                    try {
+                        mOnMonthTitleClickListener.onMonthTitleClick(mCalendar.getTime());
+                    } finally {
+                        CalendarStrictMode.end();
+                    }
+                    showMonthPicker();
                 }
             }
         });
@@ -297,47 +515,149 @@ public class CalendarView extends LinearLayout {
         mNextButton.setOnClickListener(new OnClickListener() {
             @Override
             public void onClick(View v) {
-                mCurrentMonthIndex++;
-                mCalendar = Calendar.getInstance(Locale.getDefault());
-                mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
-                refreshCalendar(mCalendar);
-
-                if (mOnMonthChangedListener != null) {
-                    mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
+                if (mCalendarMode == MODE_WEEK) {
+                    changeWeek(1);
+                } else {
+                    changeMonth(mCurrentMonthIndex + 1);
                 }
             }
         });
 
-        setFirstDayOfWeek(Calendar.SUNDAY);
-        refreshCalendar(Calendar.getInstance(getLocale()));
+        if (mTypefaceFont != NO_FONT) {
+            setTypeface(mTypefaceFont);
+        }
+
+        mModel.setLocale(getLocale());
+
+        // The first render is deferred until the view is attached and measured..
+        mCalendar = Calendar.getInstance(getLocale());
+        mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+        if (mCalendarMode == MODE_WEEK) {
+            mWeekRow = getDefaultWeekRow(getCurrentGrid());
+        }
+        mDirtyFlags = DIRTY_ALL;
+    }
+
+    /**
+     * Creates the layout with the names of the days of the week.
+     *
+     * @return the week layout.
+     */
+    private LinearLayout createWeekLayout() {
+        final Resources resources = mContext.getResources();
+        final String tag = mContext.getString(R.string.day_of_week);
+        final float textSize = getStyleTextSize(R.style.CalendarView_DayOfTheWeek, R.dimen.dayOfWeekTitleTextSize);
+
+        final LinearLayout weekLayout = new LinearLayout(mContext);
+        weekLayout.setOrientation(HORIZONTAL);
+        weekLayout.setGravity(Gravity.CENTER);
+        weekLayout.setWeightSum(7);
+        weekLayout.setPadding(0, resources.getDimensionPixelSize(R.dimen.weekTitlePaddingTop),
+                0, resources.getDimensionPixelSize(R.dimen.weekTitlePaddingBottom));
+        weekLayout.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+
+        for (int i = 0; i < 7; i++) {
+            final TextView dayOfWeek = new TextView(mContext);
+            dayOfWeek.setGravity(Gravity.CENTER);
+            dayOfWeek.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+            dayOfWeek.setTag(tag + (i + 1));
+
+            weekLayout.addView(dayOfWeek, new LayoutParams(0, LayoutParams.WRAP_CONTENT, 1));
+            mDayOfWeekViews[i] = dayOfWeek;
+        }
+
+        return weekLayout;
+    }
+
+    /**
+     * @return the text size of the given cell style, so apps overriding the
+     * CalendarView.DayOfTheWeek and CalendarView.DayOfTheMonth styles still restyle the cells.
+     */
+    private float getStyleTextSize(int styleId, int defaultSizeId) {
+        final TypedArray style = mContext.obtainStyledAttributes(styleId, new int[]{android.R.attr.textSize});
+        try {
+            return style.getDimension(0, mContext.getResources().getDimension(defaultSizeId));
+        } finally {
+            style.recycle();
+        }
+    }
+
+    /**
+     * @return the minimum height of the given cell style.
+     */
+    private int getStyleMinHeight(int styleId, int defaultHeightId) {
+        final TypedArray style = mContext.obtainStyledAttributes(styleId, new int[]{android.R.attr.minHeight});
+        try {
+            return style.getDimensionPixelSize(0, mContext.getResources().getDimensionPixelSize(defaultHeightId));
+        } finally {
+            style.recycle();
+        }
+    }
+
+    /**
+     * Creates a week row of the calendar grid from the day cell template and adds it to
+     * the days container.
+     *
+     * @param row - the index of the row, from 0 to 5.
+     */
+    private void createWeekRow(int row) {
+        final String containerTag = mContext.getString(R.string.day_of_month_container);
+        final String textTag = mContext.getString(R.string.day_of_month_text);
+        final float textSize = getStyleTextSize(R.style.CalendarView_DayOfTheMonth, R.dimen.dayOfMonthTextSize);
+        final int minHeight = getStyleMinHeight(R.style.CalendarView_DayOfTheMonth, R.dimen.minDayCellHeight);
+
+        final LinearLayout weekRow = new LinearLayout(mContext);
+        weekRow.setOrientation(HORIZONTAL);
+        weekRow.setBaselineAligned(false);
+        weekRow.setWeightSum(7);
+        weekRow.setTag("weekRow" + (row + 1));
+
+        for (int column = 0; column < 7; column++) {
+            final int index = row * 7 + column;
+
+            final DayView dayView = new DayView(mContext);
+            dayView.setGravity(Gravity.CENTER);
+            dayView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+            dayView.setMinHeight(minHeight);
+            dayView.setSubLabelTextSize(getSubLabelTextSize());
+            dayView.setTag(textTag + (index + 1));
+
+            final FrameLayout container = new FrameLayout(mContext);
+            container.setTag(containerTag + (index + 1));
+            container.addView(dayView, new FrameLayout.LayoutParams(LayoutParams.MATCH_PARENT,
+                    LayoutParams.WRAP_CONTENT, Gravity.CENTER_VERTICAL));
+
+            final LayoutParams containerParams = new LayoutParams(0, LayoutParams.MATCH_PARENT, 1);
+            containerParams.gravity = Gravity.CENTER_VERTICAL;
+            weekRow.addView(container, containerParams);
+
+            mDayViews[index] = dayView;
+        }
+
+        mDaysContainer.addView(weekRow, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+        mWeekRows[row] = weekRow;
+        mVisibleRows = -1;
     }
 
     /**
      * Display calendar title with next previous month button
      */
     private void initTitleLayout() {
-        View titleLayout = mView.findViewById(R.id.title_layout);
-        titleLayout.setBackgroundColor(mCalendarTitleBackgroundColor);
+        if (null != mTitleAnimator) {
+            mTitleAnimator.cancel();
+        }
 
-        TextView dateTitle = (TextView) mView.findViewById(R.id.dateTitle);
+        mTitleLayout.setBackgroundColor(mCalendarTitleBackgroundColor);
 
-        String dateText = CalendarUtility.getCurrentMonth(mCurrentMonthIndex).toUpperCase(Locale.getDefault()) + " " + getCurrentYear();
+        TextView dateTitle = mDateTitle;
+
+        String dateText = mModel.getSnapshot().getMonthTitle(mCalendar.get(Calendar.MONTH)) + " " + getCurrentYear();
         dateTitle.setText(dateText);
         dateTitle.setTextColor(mCalendarTitleTextColor);
 
         if (null != getTypeface()) {
             dateTitle.setTypeface(getTypeface(), Typeface.BOLD);
         }
-
-        dateTitle.setOnClickListener(new OnClickListener() {
-            @Override
-            public void onClick(final View v) {
-                if (mOnMonthTitleClickListener != null) {
-                    mOnMonthTitleClickListener.onMonthTitleClick(mCalendar.getTime());
-                    createDialogWithoutDateField(mContext);
-                }
-            }
-        });
     }
 
     /**
@@ -348,29 +668,14 @@ public class CalendarView extends LinearLayout {
         String dayOfTheWeekString;
 
         //Setting background color white
-        View titleLayout = mView.findViewById(R.id.week_layout);
-        titleLayout.setBackgroundColor(mWeekLayoutBackgroundColor);
-
-        final String[] weekDaysArray = new DateFormatSymbols(getLocale()).getShortWeekdays();
-        for (int i = 1; i < weekDaysArray.length; i++) {
-            dayOfTheWeekString = weekDaysArray[i];
-            int length = dayOfTheWeekString.length() < 3 ? dayOfTheWeekString.length() : 3;
-            dayOfTheWeekString = dayOfTheWeekString.substring(0, length).toUpperCase();
-            dayOfWeek = (TextView) mView.findViewWithTag(mContext.getString(R.string.day_of_week) + CalendarUtility.getWeekIndex(i, mCalendar));
-            dayOfWeek.setText(dayOfTheWeekString);
-            mIsCommonDay = true;
-            if (totalDayOfWeekend().length != 0) {
-                for (int weekend : totalDayOfWeekend()) {
-                    if (i == weekend) {
-                        dayOfWeek.setTextColor(mWeekendColor);
-                        mIsCommonDay = false;
-                    }
-                }
-            }
+        mWeekLayout.setBackgroundColor(mWeekLayoutBackgroundColor);
 
-            if (mIsCommonDay) {
-                dayOfWeek.setTextColor(mDayOfWeekTextColor);
-            }
+        final CalendarModel.Snapshot snapshot = mModel.getSnapshot();
+        for (int i = Calendar.SUNDAY; i <= Calendar.SATURDAY; i++) {
+            dayOfTheWeekString = snapshot.getDayOfWeekTitle(i);
+            dayOfWeek = mDayOfWeekViews[MonthGrid.getColumn(i, mFirstDayOfWeek)];
+            dayOfWeek.setText(dayOfTheWeekString);
+            dayOfWeek.setTextColor(snapshot.isWeekend(i) ? mWeekendColor : mDayOfWeekTextColor);
 
             if (null != getTypeface()) {
                 dayOfWeek.setTypeface(getTypeface());
@@ -379,392 +684,1168 @@ public class CalendarView extends LinearLayout {
     }
 
     /**
-     * Date Picker (Month & Year only)
-     *
-     * @param context
-     * @author chris.chen
+     * Shows the month and year picker, built on first use and reused afterwards. Picking a
+     * month jumps straight to it.
      */
-    private void createDialogWithoutDateField(Context context) {
-
-        mCalendar = Calendar.getInstance(Locale.getDefault());
-        final int iYear = mCalendar.get(Calendar.YEAR);
-        final int iMonth = mCalendar.get(Calendar.MONTH);
-        final int iDay = mCalendar.get(Calendar.DAY_OF_MONTH);
-
-        DatePickerDialog dpd = new DatePickerDialog(context, R.style.CalendarViewTitle, new DatePickerDialog.OnDateSetListener() {
-            public void onDateSet(
-                    DatePicker datePicker,
-                    int year,
-                    int monthOfYear,
-                    int dayOfMonth
-            ) {
-
-                int diffMonth = (year - iYear) * 12 + (monthOfYear - iMonth);
-
-                mCurrentMonthIndex = diffMonth;
-                mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
-
-                refreshCalendar(mCalendar);
-                if (mOnMonthChangedListener != null) {
-                    mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
-                }
-
-            }
-        }, iYear,
-                iMonth,
-                iDay);
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            int daySpinnerId = Resources.getSystem().getIdentifier("day", "id", "android");
-            if (daySpinnerId != 0) {
-                View daySpinner = dpd.getDatePicker().findViewById(daySpinnerId);
-                if (daySpinner != null) {
-                    daySpinner.setVisibility(View.GONE);
-                }
-            }
-
-            int monthSpinnerId = Resources.getSystem().getIdentifier("month", "id", "android");
-            if (monthSpinnerId != 0) {
-                View monthSpinner = dpd.getDatePicker().findViewById(monthSpinnerId);
-                if (monthSpinner != null) {
-                    monthSpinner.setVisibility(View.VISIBLE);
-                }
-            }
-
-            int yearSpinnerId = Resources.getSystem().getIdentifier("year", "id", "android");
-            if (yearSpinnerId != 0) {
-                View yearSpinner = dpd.getDatePicker().findViewById(yearSpinnerId);
-                if (yearSpinner != null) {
-                    yearSpinner.setVisibility(View.VISIBLE);
-                }
-            }
-        } else { //Older SDK versions
-            java.lang.reflect.Field f[] = dpd.getDatePicker().getClass().getDeclaredFields();
-            for (java.lang.reflect.Field field : f) {
-                if (field.getName().equals("mDayPicker") || field.getName().equals("mDaySpinner")) {
-                    field.setAccessible(true);
-                    Object dayPicker = null;
-                    try {
-                        dayPicker = field.get(dpd.getDatePicker());
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                    ((View) dayPicker).setVisibility(View.GONE);
-                }
-
-                if (field.getName().equals("mMonthPicker") || field.getName().equals("mMonthSpinner")) {
-                    field.setAccessible(true);
-                    Object monthPicker = null;
-                    try {
-                        monthPicker = field.get(dpd.getDatePicker());
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
-                    }
-                    ((View) monthPicker).setVisibility(View.VISIBLE);
-                }
-
-                if (field.getName().equals("mYearPicker") || field.getName().equals("mYearSpinner")) {
-                    field.setAccessible(true);
-                    Object yearPicker = null;
-                    try {
-                        yearPicker = field.get(dpd.getDatePicker());
-                    } catch (IllegalAccessException e) {
-                        e.printStackTrace();
+    private void showMonthPicker() {
+        if (null == mMonthPicker) {
+            mMonthPicker = new MonthPickerDialog(mContext);
+            mMonthPicker.setOnMonthPickedListener(new MonthPickerDialog.OnMonthPickedListener() {
+                @Override
+                public void onMonthPicked(int year, int month) {
+                    final int monthKey = year * 12 + month;
+                    if (monthKey != getMonthKey(mCalendar)) {
+                        changeMonth(monthKey - getMonthKey(Calendar.getInstance(Locale.getDefault())));
                     }
-                    ((View) yearPicker).setVisibility(View.VISIBLE);
                 }
-            }
+            });
         }
 
-        dpd.show();
+        mMonthPicker.setStyle(mCalendarBackgroundColor, mDayOfWeekTextColor, mCalendarTitleBackgroundColor,
+                mCalendarTitleTextColor, mSelectedDayBackground, mSelectedDayTextColor, mCurrentDayOfMonth,
+                getTypeface());
+        mMonthPicker.show(mCalendar.get(Calendar.YEAR), mCalendar.get(Calendar.MONTH), getLocale());
     }
 
     /**
      * This method prepare and populate the days in the CalendarView
      */
     private void setDaysInCalendar() {
-        Calendar calendar = Calendar.getInstance(getLocale());
-        calendar.setTime(mCalendar.getTime());
-        calendar.set(Calendar.DAY_OF_MONTH, 1);
-        calendar.setFirstDayOfWeek(mFirstDayOfWeek);
-        int firstDayOfMonth = calendar.get(Calendar.DAY_OF_WEEK);
+        final MonthGrid grid = MonthGrid.of(mCalendar.get(Calendar.YEAR), mCalendar.get(Calendar.MONTH), mFirstDayOfWeek);
+        final boolean weekMode = mCalendarMode == MODE_WEEK;
+        if (weekMode) {
+            // The row may not exist anymore if the first day of the week changed..
+            mWeekRow = Math.min(mWeekRow, grid.getRowCount() - 1);
+        }
+
+        final int lastRow = weekMode ? mWeekRow : grid.getRowCount() - 1;
+        if (lastRow == 5 && null == mWeekRows[5]) {
+            createWeekRow(5);
+        }
+        mGrid = grid;
+        if (null != mEventSource) {
+            // Loaded months are cached, so the same window is not queried twice..
+            mEventSource.loadWindow(mModel, grid.getEpochDay(0), grid.getEpochDay(grid.getCellCount() - 1));
+        }
 
-        // Calculate dayOfMonthIndex
-        int dayOfMonthIndex = CalendarUtility.getWeekIndex(firstDayOfMonth, calendar);
-        int actualMaximum = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+        final Calendar dayCalendar = Calendar.getInstance(getLocale());
+        dayCalendar.setTime(mCalendar.getTime());
+        final CalendarModel.Snapshot snapshot = mModel.getSnapshot();
 
-        final Calendar startCalendar = (Calendar) calendar.clone();
-        //Add required number of days
-        startCalendar.add(Calendar.DATE, -(dayOfMonthIndex - 1));
-        int monthEndIndex = 42 - (actualMaximum + dayOfMonthIndex - 1);
+        final boolean progressive = mIsProgressiveDecoration && null != mDecoratorsList && !mDecoratorsList.isEmpty();
 
         DayView dayView;
-        ViewGroup dayOfMonthContainer;
-        for (int i = 1; i < 43; i++) {
-            dayOfMonthContainer = (ViewGroup) mView.findViewWithTag(mContext.getString(R.string.day_of_month_container) + i);
-            dayView = (DayView) mView.findViewWithTag(mContext.getString(R.string.day_of_month_text) + i);
-            if (dayView == null)
-                continue;
+        // Week mode binds the seven cells of its row only..
+        final int firstCell = weekMode ? mWeekRow * 7 : 0;
+        final int endCell = weekMode ? firstCell + 7 : grid.getCellCount();
+        for (int i = firstCell; i < endCell; i++) {
+            dayView = mDayViews[i];
+            final int epochDay = grid.getEpochDay(i);
+            final boolean inMonth = grid.isInMonth(i);
 
             //Apply the default styles
-            dayOfMonthContainer.setOnClickListener(null);
-            dayView.bind(startCalendar.getTime(), getDecoratorsList());
-            dayView.setVisibility(View.VISIBLE);
+            EpochDays.set(dayCalendar, epochDay);
+            dayView.bind(dayCalendar.getTime(), EpochDays.getDayOfMonth(epochDay), getDecoratorsList());
+            // Hidden cells keep their slot, so toggling them only needs a redraw..
+            dayView.setVisibility(inMonth || isOverflowDateVisible() ? View.VISIBLE : View.INVISIBLE);
 
             if (null != getTypeface()) {
                 dayView.setTypeface(getTypeface());
             }
-
-            if (CalendarUtility.isSameMonth(calendar, startCalendar)) {
-                dayOfMonthContainer.setOnClickListener(onDayOfMonthClickListener);
-                dayOfMonthContainer.setOnLongClickListener(onDayOfMonthLongClickListener);
-                dayView.setBackgroundColor(mCalendarBackgroundColor);
-                mIsCommonDay = true;
-                if (totalDayOfWeekend().length != 0) {
-                    for (int weekend : totalDayOfWeekend()) {
-                        if (startCalendar.get(Calendar.DAY_OF_WEEK) == weekend) {
-                            dayView.setTextColor(mWeekendColor);
-                            mIsCommonDay = false;
-                        }
-                    }
-                }
-
-                if (mIsCommonDay) {
-                    dayView.setTextColor(mDayOfWeekTextColor);
-                }
-            } else {
-                dayView.setBackgroundColor(mDisabledDayBackgroundColor);
-                dayView.setTextColor(mDisabledDayTextColor);
-
-                if (!isOverflowDateVisible())
-                    dayView.setVisibility(View.GONE);
-                else if (i >= 36 && ((float) monthEndIndex / 7.0f) >= 1) {
-                    dayView.setVisibility(View.GONE);
+            dayView.setSubLabel(null != mDayLabels ? mDayLabels.getLabel(epochDay) : null);
+
+            final boolean enabled = isDayEnabled(epochDay);
+            dayView.setBackgroundColor(DayStyles.getBackgroundColor(inMonth, enabled, mCalendarBackgroundColor,
+                    mDisabledDayBackgroundColor));
+            dayView.setTextColor(DayStyles.getTextColor(snapshot, epochDay, inMonth, enabled, mDayOfWeekTextColor,
+                    mWeekendColor, mHolidayColor, mDayOfWeekTextEventColor, mDisabledDayTextColor));
+
+            if (!progressive) {
+                CalendarStrictMode.begin("decorators");
+                try {
+                    dayView.decorate();
+                } finally {
+                    CalendarStrictMode.end();
                 }
             }
+        }
 
-            //HAVE EVENT
-            if (this.containsEvent(dayView.getDate())) {
-                dayView.setTextColor(mDayOfWeekTextEventColor);
-            }
+        // The base grid shows in this frame, the decorators run over the next ones..
+        cancelDecoration();
+        if (progressive) {
+            mNextDecoratedCell = firstCell;
+            mEndDecoratedCell = endCell;
+            scheduleDecoration();
+        }
+
+        //Set the current day color
+        setCurrentDay(mCalendar.getTime());
+        updateNavigationButtons();
 
+        // Show the rows of this month, or only the row of the week
+        setVisibleRows(weekMode ? 1 << mWeekRow : (1 << grid.getRowCount()) - 1);
 
-            dayView.decorate();
+        // Keep the last selected day marked across refreshes
+        if (mSelection.isInMonth(grid.getYear(), grid.getMonth())) {
+            final int selectedCell = grid.getCell(mSelection.getSelectedEpochDay());
+            if (selectedCell >= firstCell && selectedCell < endCell) {
+                final DayView selectedView = mDayViews[selectedCell];
+                selectedView.setBackgroundColor(mSelectedDayBackground);
+                selectedView.setTextColor(mSelectedDayTextColor);
+            }
+        }
+    }
 
-            //Set the current day color
-            if (mCalendar.get(Calendar.MONTH) == startCalendar.get(Calendar.MONTH))
-                setCurrentDay(mCalendar.getTime());
+    /**
+     * Shows the week rows in the given mask, with bit 0 for the first row, and hides the
+     * others. Rows only change when the number of weeks or the mode does, so the change is
+     * applied in one go and skipped when the mask is the same as the last one.
+     */
+    private void setVisibleRows(int visibleRows) {
+        if (visibleRows == mVisibleRows) {
+            return;
+        }
 
-            startCalendar.add(Calendar.DATE, 1);
-            dayOfMonthIndex++;
+        mVisibleRows = visibleRows;
+        for (int row = 0; row < mWeekRows.length; row++) {
+            if (null != mWeekRows[row]) {
+                mWeekRows[row].setVisibility((visibleRows & (1 << row)) != 0 ? VISIBLE : GONE);
+            }
         }
+    }
 
-        // If the last week row has no visible days, hide it or show it in case
-        ViewGroup weekRow = (ViewGroup) mView.findViewWithTag("weekRow6");
-        dayView = (DayView) mView.findViewWithTag("dayOfMonthText36");
-        if (dayView.getVisibility() != VISIBLE) {
-            weekRow.setVisibility(GONE);
-        } else {
-            weekRow.setVisibility(VISIBLE);
+    private void scheduleDecoration() {
+        if (!mDecorationScheduled && mNextDecoratedCell < mEndDecoratedCell && mIsAttached) {
+            mDecorationScheduled = true;
+            ViewCompat.postOnAnimation(this, mDecorationRunnable);
         }
     }
 
-    private boolean containsEvent(Date date) {
-        SimpleDateFormat spd = new SimpleDateFormat("dd/MM");
-        for (Date day : eventDates) {
-            if (spd.format(date).equals(spd.format(day))) {
-                return true;
-            }
+    /**
+     * Drops the cells left to decorate, e.g. when the month changes.
+     */
+    private void cancelDecoration() {
+        mNextDecoratedCell = mEndDecoratedCell;
+        if (mDecorationScheduled) {
+            mDecorationScheduled = false;
+            removeCallbacks(mDecorationRunnable);
         }
-        return false;
     }
 
-    private void clearDayOfTheMonthStyle(Date currentDate) {
-        if (currentDate != null) {
-            final Calendar calendar = CalendarUtility.getTodayCalendar(mContext, mFirstDayOfWeek);
-            calendar.setFirstDayOfWeek(mFirstDayOfWeek);
-            calendar.setTime(currentDate);
-
-            final DayView dayView = findViewByCalendar(calendar);
-            dayView.setBackgroundColor(mCalendarBackgroundColor);
-            mIsCommonDay = true;
-            if (totalDayOfWeekend().length != 0) {
-                for (int weekend : totalDayOfWeekend()) {
-                    if (calendar.get(Calendar.DAY_OF_WEEK) == weekend) {
-                        dayView.setTextColor(mWeekendColor);
-                        mIsCommonDay = false;
-                    }
+    private boolean isDecorationPending() {
+        return mNextDecoratedCell < mEndDecoratedCell;
+    }
+
+    /**
+     * Runs the decorators of as many cells as fit in the frame budget, at least one, and
+     * schedules the rest for the next frame. Decorators run after the today and selection
+     * marks were applied, so these are applied again over them.
+     */
+    private void decorateNextCells() {
+        final long deadline = System.nanoTime() + DECORATION_FRAME_BUDGET_NANOS;
+        final int today = EpochDays.of(Calendar.getInstance(getLocale()));
+        final int selected = mSelection.getSelectedEpochDay();
+
+        CalendarStrictMode.begin("decorators");
+        try {
+            do {
+                final int cell = mNextDecoratedCell++;
+                final DayView dayView = mDayViews[cell];
+                dayView.decorate();
+
+                final int epochDay = mGrid.getEpochDay(cell);
+                if (epochDay == selected && mGrid.isInMonth(cell)) {
+                    dayView.setBackgroundColor(mSelectedDayBackground);
+                    dayView.setTextColor(mSelectedDayTextColor);
+                } else if (epochDay == today && mGrid.isInMonth(cell)) {
+                    dayView.setTextColor(mCurrentDayOfMonth);
+                    dayView.setBackgroundColor(mSelectedDayBackground);
                 }
-            }
+            } while (mNextDecoratedCell < mEndDecoratedCell && System.nanoTime() < deadline);
+        } finally {
+            CalendarStrictMode.end();
+        }
 
-            if (mIsCommonDay) {
-                dayView.setTextColor(mDayOfWeekTextColor);
-            }
+        scheduleDecoration();
+    }
+
+    private boolean isDayEnabled(int epochDay) {
+        return DayStyles.isEnabled(epochDay, mMinEpochDay, mMaxEpochDay, mDisabledDays);
+    }
+
+    /**
+     * @return the given month offset moved within the month bounds.
+     */
+    private int getBoundedMonthIndex(int monthIndex) {
+        final int todayMonthKey = getMonthKey(Calendar.getInstance(Locale.getDefault()));
+        return Math.max(mMinMonthKey - todayMonthKey, Math.min(mMaxMonthKey - todayMonthKey, monthIndex));
+    }
+
+    /**
+     * Dims the back and next buttons when the bounds stop them.
+     */
+    private void updateNavigationButtons() {
+        final boolean canGoBack;
+        final boolean canGoNext;
+        if (mCalendarMode == MODE_WEEK) {
+            final int weekStart = mGrid.getEpochDay(mWeekRow * 7);
+            canGoBack = weekStart > mMinEpochDay;
+            canGoNext = weekStart + 6 < mMaxEpochDay;
+        } else {
+            final int monthKey = getMonthKey(mCalendar);
+            canGoBack = monthKey > mMinMonthKey;
+            canGoNext = monthKey < mMaxMonthKey;
+        }
+
+        mBackButton.setEnabled(canGoBack);
+        mBackButton.setAlpha(canGoBack ? 1f : DISABLED_BUTTON_ALPHA);
+        mNextButton.setEnabled(canGoNext);
+        mNextButton.setAlpha(canGoNext ? 1f : DISABLED_BUTTON_ALPHA);
+    }
 
-            //HAVE EVENT
-            if (this.containsEvent(dayView.getDate())) {
-                dayView.setTextColor(mDayOfWeekTextEventColor);
+    private void clearDayOfTheMonthStyle(int epochDay) {
+        if (epochDay != DaySelection.NONE && null != mGrid &&
+                EpochDays.getYear(epochDay) == mGrid.getYear() && EpochDays.getMonth(epochDay) == mGrid.getMonth()) {
+            final DayView dayView = findViewByEpochDay(epochDay);
+            if (null == dayView) {
+                return;
             }
+            final boolean enabled = isDayEnabled(epochDay);
+            dayView.setBackgroundColor(DayStyles.getBackgroundColor(true, enabled, mCalendarBackgroundColor,
+                    mDisabledDayBackgroundColor));
+            dayView.setTextColor(DayStyles.getTextColor(mModel.getSnapshot(), epochDay, true, enabled,
+                    mDayOfWeekTextColor, mWeekendColor, mHolidayColor, mDayOfWeekTextEventColor, mDisabledDayTextColor));
         }
     }
 
     public DayView findViewByDate(@NonNull Date dateToFind) {
+        executePendingRefresh();
+
         final Calendar calendar = Calendar.getInstance(getLocale());
         calendar.setTime(dateToFind);
-        return (DayView) getView(mContext.getString(R.string.day_of_month_text), calendar);
+        return findViewByCalendar(calendar);
     }
 
     private DayView findViewByCalendar(@NonNull Calendar calendarToFind) {
-        return (DayView) getView(mContext.getString(R.string.day_of_month_text), calendarToFind);
-    }
-
-    private int getDayIndexByDate(Calendar calendar) {
-        int monthOffset = CalendarUtility.getMonthOffset(calendar, mFirstDayOfWeek);
-        int currentDay = calendar.get(Calendar.DAY_OF_MONTH);
-
-        return currentDay + monthOffset;
+        return findViewByEpochDay(EpochDays.of(calendarToFind));
     }
 
-    private View getView(String key, Calendar currentCalendar) {
-        final int index = getDayIndexByDate(currentCalendar);
-        return mView.findViewWithTag(key + index);
+    /**
+     * @return the bound view of the given day, or null if the day is not shown.
+     */
+    private DayView findViewByEpochDay(int epochDay) {
+        final int cell = null != mGrid ? mGrid.getCell(epochDay) : -1;
+        if (cell < 0 || (mCalendarMode == MODE_WEEK && cell / 7 != mWeekRow)) {
+            return null;
+        }
+        return mDayViews[cell];
     }
 
-    public void refreshCalendar(Calendar calendar) {
-        mCalendar = calendar;
-        mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+    /**
+     * Moves the calendar to the given month, relative to the current one. If the target month
+     * was rendered recently its snapshot is shown right away and the real views are rebound
+     * on the next animation frame.
+     *
+     * @param monthIndex - the month to show, as an offset from the current month.
+     */
+    private void changeMonth(int monthIndex) {
+        final int boundedIndex = getBoundedMonthIndex(monthIndex);
+        if (boundedIndex != monthIndex && boundedIndex == mCurrentMonthIndex) {
+            // Already at the bound..
+            return;
+        }
+        monthIndex = boundedIndex;
 
-        initTitleLayout();
-        setTotalDayOfWeekend();
-        initWeekLayout();
+        if (null != mModeAnimator) {
+            mModeAnimator.end();
+        }
 
-        setDaysInCalendar();
-    }
+        // Snapshots are only taken of, and shown over, the whole month grid..
+        final boolean monthMode = mCalendarMode == MODE_MONTH;
+        if (monthMode && null == mPendingSnapshot && !isDecorationPending()) {
+            mSnapshotCache.capture(getMonthKey(mCalendar), mDaysContainer);
+        }
+        cancelDecoration();
 
-    public void refreshCalendar() {
+        mCurrentMonthIndex = monthIndex;
         mCalendar = Calendar.getInstance(Locale.getDefault());
         mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
-        refreshCalendar(mCalendar);
-    }
+        mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+        if (!monthMode) {
+            mWeekRow = getDefaultWeekRow(getCurrentGrid());
+        }
 
-    private void setTotalDayOfWeekend() {
-        int[] weekendDay = new int[Integer.bitCount(mWeekend)];
-        char days[] = Integer.toBinaryString(mWeekend).toCharArray();
-        int day = 1;
-        int index = 0;
-        for (int i = days.length - 1; i >= 0; i--) {
-            if (days[i] == '1') {
-                weekendDay[index] = day;
-                index++;
-            }
-            day++;
+        final Bitmap snapshot = monthMode ? mSnapshotCache.get(getMonthKey(mCalendar)) : null;
+        if (null != snapshot) {
+            mPendingSnapshot = snapshot;
+            initTitleLayout();
+            mDaysContainer.setVisibility(INVISIBLE);
+            invalidate();
+
+            // Rebind the real views behind the snapshot on the next frame..
+            mDirtyFlags |= DIRTY_WEEK | DIRTY_DAYS;
+            scheduleRefresh();
+        } else {
+            mDirtyFlags |= DIRTY_ALL;
+            performRefresh();
         }
 
-        mTotalDayOfWeekend = weekendDay;
+        dispatchMonthChanged();
     }
 
-    private int[] totalDayOfWeekend() {
-        return mTotalDayOfWeekend;
+    private void dispatchMonthChanged() {
+        if (mOnMonthChangedListener != null) {
+            CalendarStrictMode.begin("OnMonthChangedListener");
+            try {
+                mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
+            } finally {
+                CalendarStrictMode.end();
+            }
+        }
     }
 
-    public void setCurrentDay(@NonNull Date todayDate) {
-        final Calendar calendar = Calendar.getInstance(getLocale());
-        calendar.setTime(todayDate);
-
-        if (CalendarUtility.isToday(calendar)) {
-            final DayView dayOfMonth = findViewByCalendar(calendar);
+    /**
+     * Moves the week strip by the given number of weeks. A week belongs to the month of its
+     * fourth day, so the month changes only once most of the week is in the next one. Only
+     * the seven cells of the week are rebound.
+     *
+     * @param weeks - the number of weeks to move, negative to go back.
+     */
+    private void changeWeek(int weeks) {
+        if (null != mModeAnimator) {
+            mModeAnimator.end();
+        }
+        executePendingRefresh();
 
-            dayOfMonth.setTextColor(mCurrentDayOfMonth);
-            dayOfMonth.setBackgroundColor(mSelectedDayBackground);
+        final int weekStart = mGrid.getEpochDay(mWeekRow * 7) + weeks * 7;
+        if (weekStart > mMaxEpochDay || weekStart + 6 < mMinEpochDay) {
+            // No day of the week can be shown..
+            return;
         }
-    }
+
+        final int anchor = weekStart + 3;
+        final int monthKey = EpochDays.getYear(anchor) * 12 + EpochDays.getMonth(anchor);
+        final boolean monthChanged = monthKey != getMonthKey(mCalendar);
+
+        if (monthChanged) {
+            mCurrentMonthIndex = monthKey - getMonthKey(Calendar.getInstance(Locale.getDefault()));
+            mCalendar = Calendar.getInstance(Locale.getDefault());
+            mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
+            mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+            mDirtyFlags |= DIRTY_TITLE;
+        }
+
+        mWeekRow = (weekStart - getCurrentGrid().getEpochDay(0)) / 7;
+        mDirtyFlags |= DIRTY_DAYS;
+        performRefresh();
+
+        if (monthChanged) {
+            dispatchMonthChanged();
+        }
+    }
+
+    /**
+     * Finds the first event after the day of the given date, and shows its month, or its
+     * week in week mode.
+     *
+     * @param from - the date to start from, its day excluded.
+     * @return the date of the next event, or null if there is none.
+     */
+    @Nullable
+    public Date nextEventDate(@NonNull Date from) {
+        return showEventDay(mModel.getSnapshot().nextEventDay(toEpochDay(from)));
+    }
+
+    /**
+     * Finds the last event before the day of the given date, and shows its month, or its
+     * week in week mode.
+     *
+     * @param from - the date to start from, its day excluded.
+     * @return the date of the previous event, or null if there is none.
+     */
+    @Nullable
+    public Date previousEventDate(@NonNull Date from) {
+        return showEventDay(mModel.getSnapshot().previousEventDay(toEpochDay(from)));
+    }
+
+    private int toEpochDay(Date date) {
+        final Calendar calendar = Calendar.getInstance(getLocale());
+        calendar.setTime(date);
+        return EpochDays.of(calendar);
+    }
+
+    private Date showEventDay(int epochDay) {
+        if (epochDay == EventTimeline.NONE) {
+            return null;
+        }
+
+        // Jump straight to the month, however far it is..
+        final int monthKey = EpochDays.getYear(epochDay) * 12 + EpochDays.getMonth(epochDay);
+        if (monthKey != getMonthKey(mCalendar)) {
+            changeMonth(monthKey - getMonthKey(Calendar.getInstance(Locale.getDefault())));
+        }
+
+        if (mCalendarMode == MODE_WEEK) {
+            final int cell = getCurrentGrid().getCell(epochDay);
+            if (cell >= 0 && cell / 7 != mWeekRow) {
+                mWeekRow = cell / 7;
+                invalidateCalendar(DIRTY_DAYS);
+            }
+        }
+
+        final Calendar calendar = Calendar.getInstance(getLocale());
+        calendar.setTime(mCalendar.getTime());
+        EpochDays.set(calendar, epochDay);
+        return calendar.getTime();
+    }
+
+    /**
+     * @return the grid of the current month, without binding it.
+     */
+    private MonthGrid getCurrentGrid() {
+        final int year = mCalendar.get(Calendar.YEAR);
+        final int month = mCalendar.get(Calendar.MONTH);
+        if (null != mGrid && mGrid.getYear() == year && mGrid.getMonth() == month &&
+                mGrid.getFirstDayOfWeek() == mFirstDayOfWeek) {
+            return mGrid;
+        }
+        return MonthGrid.of(year, month, mFirstDayOfWeek);
+    }
+
+    /**
+     * @return the row of the week shown when collapsing the given month: the week of the
+     * selected day, else the week of today, else the first week of the month.
+     */
+    private int getDefaultWeekRow(MonthGrid grid) {
+        int cell = -1;
+        if (mSelection.isInMonth(grid.getYear(), grid.getMonth())) {
+            cell = grid.getCell(mSelection.getSelectedEpochDay());
+        } else {
+            final int today = grid.getCell(EpochDays.of(Calendar.getInstance(getLocale())));
+            if (today >= 0 && grid.isInMonth(today)) {
+                cell = today;
+            }
+        }
+
+        return (cell >= 0 ? cell : grid.getFirstCell()) / 7;
+    }
+
+    /**
+     * Switches between the month grid and the week strip. The strip shows the week of the
+     * selected day, or of today, or the first week of the month, and pages by week. Both
+     * modes share the same cells, so the change is animated by growing or shrinking the
+     * grid around the row of the week.
+     *
+     * @param mode    - {@link #MODE_MONTH} or {@link #MODE_WEEK}.
+     * @param animate - true to animate the change.
+     */
+    public void setCalendarMode(int mode, boolean animate) {
+        if (mode != MODE_MONTH && mode != MODE_WEEK) {
+            throw new IllegalArgumentException("Unknown calendar mode: " + mode);
+        }
+
+        if (null != mModeAnimator) {
+            mModeAnimator.end();
+        }
+
+        if (mode == mCalendarMode) {
+            return;
+        }
+
+        final boolean canAnimate = animate && mIsAttached && mEditDepth == 0 && mDaysContainer.getHeight() > 0;
+        if (canAnimate) {
+            executePendingRefresh();
+        }
+
+        if (mode == MODE_WEEK) {
+            mWeekRow = getDefaultWeekRow(getCurrentGrid());
+        }
+
+        if (!canAnimate) {
+            mCalendarMode = mode;
+            mDirtyFlags |= DIRTY_DAYS;
+            scheduleRefresh();
+            return;
+        }
+
+        final int rowHeight = mWeekRows[mWeekRow].getHeight();
+        if (mode == MODE_MONTH) {
+            // Bind the other rows first, then reveal them around the week..
+            mCalendarMode = MODE_MONTH;
+            mDirtyFlags |= DIRTY_DAYS;
+            performRefresh();
+            animateDays(rowHeight, rowHeight, rowHeight * mGrid.getRowCount(), mWeekRow * rowHeight, 0, null);
+        } else {
+            animateDays(rowHeight, mDaysContainer.getHeight(), rowHeight, 0, mWeekRow * rowHeight, new Runnable() {
+                @Override
+                public void run() {
+                    mCalendarMode = MODE_WEEK;
+                    mDirtyFlags |= DIRTY_DAYS;
+                    performRefresh();
+                }
+            });
+        }
+    }
+
+    public int getCalendarMode() {
+        return mCalendarMode;
+    }
+
+    /**
+     * Animates the height and the scroll of the days container. The rows get a fixed height
+     * meanwhile, so the container clips them instead of squeezing them.
+     */
+    private void animateDays(int rowHeight, final int fromHeight, final int toHeight,
+                             final int fromScroll, final int toScroll, final Runnable endAction) {
+        for (LinearLayout weekRow : mWeekRows) {
+            if (null != weekRow) {
+                weekRow.getLayoutParams().height = rowHeight;
+            }
+        }
+
+        final ViewGroup.LayoutParams params = mDaysContainer.getLayoutParams();
+        params.height = fromHeight;
+        mDaysContainer.scrollTo(0, fromScroll);
+        mDaysContainer.requestLayout();
+
+        mModeAnimator = ValueAnimator.ofFloat(0f, 1f);
+        mModeAnimator.setDuration(MODE_ANIMATION_DURATION);
+        mModeAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                final float fraction = animation.getAnimatedFraction();
+                params.height = fromHeight + Math.round((toHeight - fromHeight) * fraction);
+                mDaysContainer.scrollTo(0, fromScroll + Math.round((toScroll - fromScroll) * fraction));
+                mDaysContainer.requestLayout();
+            }
+        });
+        mModeAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                mModeAnimator = null;
+                for (LinearLayout weekRow : mWeekRows) {
+                    if (null != weekRow) {
+                        weekRow.getLayoutParams().height = LayoutParams.WRAP_CONTENT;
+                    }
+                }
+                params.height = LayoutParams.WRAP_CONTENT;
+                mDaysContainer.scrollTo(0, 0);
+                mDaysContainer.requestLayout();
+
+                if (null != endAction) {
+                    endAction.run();
+                }
+            }
+        });
+        mModeAnimator.start();
+    }
+
+    /**
+     * Skips the given number of months at once. Only the target month is rendered, while the
+     * title optionally counts through the skipped months.
+     *
+     * @param months - the number of months to move, negative to go back.
+     */
+    private void skipMonths(int months) {
+        final int fromMonthKey = getMonthKey(mCalendar);
+        changeMonth(mCurrentMonthIndex + months);
+        animateTitle(fromMonthKey, getMonthKey(mCalendar));
+    }
+
+    /**
+     * Counts the title through the months between the given ones, ending on the current title.
+     * The intermediate titles are plain strings, no month is built for them.
+     */
+    private void animateTitle(int fromMonthKey, int toMonthKey) {
+        final int steps = Math.abs(toMonthKey - fromMonthKey);
+        if (!mIsTitleAnimationEnabled || steps < 2) {
+            return;
+        }
+
+        final CalendarModel.Snapshot snapshot = mModel.getSnapshot();
+        final String[] titles = new String[steps];
+        final int direction = toMonthKey > fromMonthKey ? 1 : -1;
+        for (int i = 1; i < steps; i++) {
+            final int monthKey = fromMonthKey + direction * i;
+            titles[i] = snapshot.getMonthTitle(monthKey % 12) + " " + monthKey / 12;
+        }
+
+        final CharSequence finalTitle = mDateTitle.getText();
+        mTitleAnimator = ValueAnimator.ofInt(1, steps);
+        mTitleAnimator.setDuration(Math.min(steps * TITLE_STEP_DURATION, MAX_TITLE_ANIMATION_DURATION));
+        mTitleAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            private int mLastStep = -1;
+
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                final int step = (Integer) animation.getAnimatedValue();
+                if (step != mLastStep) {
+                    mLastStep = step;
+                    mDateTitle.setText(step < steps ? titles[step] : finalTitle);
+                }
+            }
+        });
+        mTitleAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                mDateTitle.setText(finalTitle);
+                mTitleAnimator = null;
+            }
+        });
+        mTitleAnimator.start();
+    }
+
+    /**
+     * @param velocity - the horizontal fling velocity, in pixels per second.
+     * @return the number of months a fling with the given velocity moves, from 1 to the
+     * maximum set with {@link #setMaxFlingMonths(int)}.
+     */
+    private int getFlingMonths(float velocity) {
+        final float range = mMaximumVelocity - mMinimumVelocity;
+        if (mMaxFlingMonths <= 1 || range <= 0) {
+            return 1;
+        }
+
+        final float fraction = (Math.abs(velocity) - mMinimumVelocity) / range;
+        return Math.max(1, Math.min(mMaxFlingMonths, 1 + (int) (fraction * mMaxFlingMonths)));
+    }
+
+    private static int getMonthKey(Calendar calendar) {
+        return calendar.get(Calendar.YEAR) * 12 + calendar.get(Calendar.MONTH);
+    }
+
+    private void cancelPendingSnapshot() {
+        if (null != mPendingSnapshot) {
+            mPendingSnapshot = null;
+            mDaysContainer.setVisibility(VISIBLE);
+        }
+    }
+
+    /**
+     * Marks parts of the calendar as changed and schedules a single refresh for the next
+     * animation frame. Changes to the days grid also drop the cached month snapshots.
+     *
+     * @param flags - the DIRTY_* flags of the parts that changed.
+     */
+    void invalidateCalendar(int flags) {
+        if ((flags & DIRTY_DAYS) != 0 && null != mSnapshotCache) {
+            mSnapshotCache.invalidate();
+        }
+
+        mDirtyFlags |= flags;
+        scheduleRefresh();
+    }
+
+    private void scheduleRefresh() {
+        if (mEditDepth > 0 || mRefreshScheduled || mDirtyFlags == 0) {
+            return;
+        }
+
+        // While detached the refresh waits for the next measure pass..
+        if (mIsAttached) {
+            mRefreshScheduled = true;
+            ViewCompat.postOnAnimation(this, mRefreshRunnable);
+        }
+    }
+
+    /**
+     * Runs a pending refresh right away, if there is one.
+     */
+    private void executePendingRefresh() {
+        if (mDirtyFlags != 0) {
+            performRefresh();
+        }
+    }
+
+    /**
+     * Rebuilds the parts of the calendar marked as dirty.
+     */
+    private void performRefresh() {
+        final int flags = mDirtyFlags;
+        mDirtyFlags = 0;
+        if (mRefreshScheduled) {
+            mRefreshScheduled = false;
+            removeCallbacks(mRefreshRunnable);
+        }
+
+        mCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
+        mRenderedSnapshot = mModel.getSnapshot();
+
+        CalendarStrictMode.begin("refreshCalendar");
+        try {
+            if ((flags & DIRTY_TITLE) != 0) {
+                CalendarStrictMode.begin("title");
+                try {
+                    initTitleLayout();
+                } finally {
+                    CalendarStrictMode.end();
+                }
+            }
+
+            if ((flags & DIRTY_WEEK) != 0) {
+                CalendarStrictMode.begin("week");
+                try {
+                    initWeekLayout();
+                } finally {
+                    CalendarStrictMode.end();
+                }
+            }
+
+            if ((flags & DIRTY_DAYS) != 0) {
+                CalendarStrictMode.begin("days");
+                try {
+                    cancelPendingSnapshot();
+                    setDaysInCalendar();
+                } finally {
+                    CalendarStrictMode.end();
+                }
+
+                if (null != mAccessibilityHelper) {
+                    mAccessibilityHelper.invalidateRoot();
+                }
+            }
+        } finally {
+            CalendarStrictMode.end();
+        }
+    }
+
+    /**
+     * Starts a transaction that batches several changes into a single refresh. Changes made
+     * through the returned Editor, or through the regular setters, are applied together once
+     * {@link Editor#apply()} is called.
+     *
+     * @return an Editor used to change the calendar.
+     */
+    public Editor edit() {
+        mEditDepth++;
+        return new Editor();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+
+        if (null != mPendingSnapshot && !mPendingSnapshot.isRecycled()) {
+            float left = 0;
+            float top = 0;
+            for (View v = mDaysContainer; v != this && null != v; v = (View) v.getParent()) {
+                left += v.getLeft() - v.getScrollX();
+                top += v.getTop() - v.getScrollY();
+            }
+            canvas.drawBitmap(mPendingSnapshot, left, top, null);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mIsAttached = true;
+        mModel.addOnModelChangedListener(mModelListener);
+
+        // The model only notifies attached views, catch up with changes made meanwhile..
+        if (mModel.getSnapshot() != mRenderedSnapshot) {
+            invalidateCalendar(DIRTY_ALL);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mIsAttached = false;
+        mModel.removeOnModelChangedListener(mModelListener);
+        cancelTap();
+
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+
+        if (null != mTitleAnimator) {
+            mTitleAnimator.end();
+        }
+
+        if (null != mModeAnimator) {
+            mModeAnimator.end();
+        }
+
+        if (null != mMonthPicker && mMonthPicker.isShowing()) {
+            mMonthPicker.dismiss();
+        }
+
+        if (mRefreshScheduled) {
+            mRefreshScheduled = false;
+            removeCallbacks(mRefreshRunnable);
+        }
+
+        if (isDecorationPending()) {
+            // Decorate again from the start once attached..
+            cancelDecoration();
+            mDirtyFlags |= DIRTY_DAYS;
+        }
+
+        if (null != mSnapshotCache) {
+            if (null != mPendingSnapshot) {
+                cancelPendingSnapshot();
+                mDirtyFlags |= DIRTY_DAYS;
+            }
+            mSnapshotCache.clear();
+        }
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        final SavedState state = new SavedState(super.onSaveInstanceState());
+        state.monthKey = getMonthKey(mCalendar);
+        state.firstDayOfWeek = mFirstDayOfWeek;
+        state.selectedEpochDay = mSelection.getSelectedEpochDay();
+        state.hasSelection = mSelection.hasSelection();
+        state.calendarMode = mCalendarMode;
+        state.weekRow = mWeekRow;
+        return state;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+
+        final SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+
+        mFirstDayOfWeek = savedState.firstDayOfWeek;
+
+        // The month index is relative to today, recompute it from the absolute month..
+        final Calendar calendar = Calendar.getInstance(Locale.getDefault());
+        mCurrentMonthIndex = savedState.monthKey - getMonthKey(calendar);
+        calendar.add(Calendar.MONTH, mCurrentMonthIndex);
+        calendar.setFirstDayOfWeek(mFirstDayOfWeek);
+        mCalendar = calendar;
+
+        if (savedState.hasSelection) {
+            mSelection.select(savedState.selectedEpochDay);
+        } else {
+            mSelection.clear();
+        }
+
+        if (null != mModeAnimator) {
+            mModeAnimator.end();
+        }
+        mCalendarMode = savedState.calendarMode;
+        mWeekRow = savedState.weekRow;
+
+        invalidateCalendar(DIRTY_ALL);
+    }
+
+    /**
+     * Returns the model derived from the event dates, to be handed to the CalendarView that
+     * replaces this one across a configuration change, e.g. from
+     * {@code onRetainCustomNonConfigurationInstance()}. Once this view is detached, the
+     * model holds no reference to it or its context. Decorators are not retained, as they
+     * usually belong to the Activity, the new Activity sets them again.
+     *
+     * @return the model to retain.
+     */
+    @NonNull
+    public RetainedModel getRetainedModel() {
+        return new RetainedModel(mModel);
+    }
+
+    /**
+     * Restores a model retained from a previous CalendarView, without indexing the event
+     * dates again.
+     *
+     * @param model - the retained model, null is ignored.
+     */
+    public void setRetainedModel(@Nullable RetainedModel model) {
+        if (null == model) {
+            return;
+        }
+
+        setModel(model.mModel);
+    }
+
+    /**
+     * Makes this view show the given model. Several views may share one model, which then
+     * indexes its events once for all of them and refreshes every view when it changes.
+     * The event dates and weekend days set on this view are stored in its model.
+     *
+     * @param model - the model to show.
+     */
+    public void setModel(@NonNull CalendarModel model) {
+        if (model == mModel) {
+            return;
+        }
+
+        if (mIsAttached) {
+            mModel.removeOnModelChangedListener(mModelListener);
+            model.addOnModelChangedListener(mModelListener);
+        }
+        if (null != mEventSource) {
+            // The source loads the window of the new model on the next refresh..
+            mEventSource.detach(mModel);
+        }
+        mModel = model;
+        invalidateCalendar(DIRTY_ALL);
+    }
+
+    @NonNull
+    public CalendarModel getModel() {
+        return mModel;
+    }
+
+    /**
+     * Creates a renderer drawing months like this view, with its model, colors, typeface,
+     * first day of the week, date bounds, disabled days and day labels, e.g. to show the same calendar on an app widget.
+     *
+     * @return a new renderer, not affected by later changes to this view.
+     */
+    @NonNull
+    public MonthRenderer newMonthRenderer() {
+        return new MonthRenderer(mContext)
+                .setModel(mModel)
+                .setFirstDayOfWeek(mFirstDayOfWeek)
+                .setTypeface(mTypeface)
+                .setIsOverflowDateVisible(mIsOverflowDateVisible)
+                .setCalendarBackgroundColor(mCalendarBackgroundColor)
+                .setCalendarTitleBackgroundColor(mCalendarTitleBackgroundColor)
+                .setCalendarTitleTextColor(mCalendarTitleTextColor)
+                .setWeekLayoutBackgroundColor(mWeekLayoutBackgroundColor)
+                .setDayOfWeekTextColor(mDayOfWeekTextColor)
+                .setDayOfWeekTextEventColor(mDayOfWeekTextEventColor)
+                .setDisabledDayBackgroundColor(mDisabledDayBackgroundColor)
+                .setDisabledDayTextColor(mDisabledDayTextColor)
+                .setSelectedDayBackground(mSelectedDayBackground)
+                .setCurrentDayOfMonth(mCurrentDayOfMonth)
+                .setWeekendColor(mWeekendColor)
+                .setHolidayColor(mHolidayColor)
+                .setEpochDayBounds(mMinEpochDay, mMaxEpochDay)
+                .setDisabledDays(mDisabledDays)
+                .setDayLabels(mDayLabels);
+    }
+
+    private static int getDirtyFlags(int changes) {
+        int flags = 0;
+        if ((changes & CalendarModel.CHANGE_EVENTS) != 0) {
+            flags |= DIRTY_DAYS;
+        }
+        if ((changes & CalendarModel.CHANGE_WEEKEND) != 0) {
+            flags |= DIRTY_WEEK | DIRTY_DAYS;
+        }
+        if ((changes & CalendarModel.CHANGE_HOLIDAYS) != 0) {
+            flags |= DIRTY_DAYS;
+        }
+        if ((changes & CalendarModel.CHANGE_FORMAT) != 0) {
+            flags |= DIRTY_ALL;
+        }
+        return flags;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        // Bind pending changes before measuring, so the first frame needs a single layout pass..
+        if (mIsAttached && mDirtyFlags != 0) {
+            performRefresh();
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    /**
+     * Shows the month of the given calendar. The calendar is rebuilt on the next frame.
+     *
+     * @param calendar - the calendar with the month to show.
+     */
+    public void refreshCalendar(Calendar calendar) {
+        mCalendar = calendar;
+        invalidateCalendar(DIRTY_ALL);
+    }
+
+    public void refreshCalendar() {
+        mCalendar = Calendar.getInstance(Locale.getDefault());
+        mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
+        refreshCalendar(mCalendar);
+    }
+
+    public void setCurrentDay(@NonNull Date todayDate) {
+        // A pending refresh marks the current day itself..
+        if (mDirtyFlags != 0) {
+            return;
+        }
+
+        final Calendar calendar = Calendar.getInstance(getLocale());
+        calendar.setTime(todayDate);
+
+        if (CalendarUtility.isToday(calendar)) {
+            final DayView dayOfMonth = findViewByCalendar(calendar);
+            if (null == dayOfMonth) {
+                return;
+            }
+
+            dayOfMonth.setTextColor(mCurrentDayOfMonth);
+            dayOfMonth.setBackgroundColor(mSelectedDayBackground);
+        }
+    }
 
     public void setDateAsSelected(Date currentDate) {
         final Calendar currentCalendar = CalendarUtility.getTodayCalendar(mContext, mFirstDayOfWeek);
         currentCalendar.setFirstDayOfWeek(mFirstDayOfWeek);
         currentCalendar.setTime(currentDate);
 
-        // Clear previous marks
-        clearDayOfTheMonthStyle(mLastSelectedDay);
-
         // Store current values as last values
-        setLastSelectedDay(currentDate);
+        final int previous = mSelection.select(EpochDays.of(currentCalendar));
+
+        // A pending refresh marks the last selected day itself..
+        if (mDirtyFlags != 0) {
+            return;
+        }
+
+        // Clear previous marks
+        clearDayOfTheMonthStyle(previous);
 
         // Mark current day as selected
         DayView view = findViewByCalendar(currentCalendar);
+        if (null == view) {
+            return;
+        }
         view.setBackgroundColor(mSelectedDayBackground);
         view.setTextColor(mSelectedDayTextColor);
     }
 
-    private OnLongClickListener onDayOfMonthLongClickListener = new OnLongClickListener() {
-        @Override
-        public boolean onLongClick(View view) {
-            // Extract day selected
-            ViewGroup dayOfMonthContainer = (ViewGroup) view;
-            String tagId = (String) dayOfMonthContainer.getTag();
-            tagId = tagId.substring(mContext.getString(R.string.day_of_month_container).length(), tagId.length());
-            final TextView dayOfMonthText = (TextView) view.findViewWithTag(mContext.getString(R.string.day_of_month_text) + tagId);
-
-            // Fire event
-            final Calendar calendar = Calendar.getInstance();
-            calendar.setFirstDayOfWeek(mFirstDayOfWeek);
-            calendar.setTime(mCalendar.getTime());
-            calendar.set(Calendar.DAY_OF_MONTH, Integer.valueOf(dayOfMonthText.getText().toString()));
-            setDateAsSelected(calendar.getTime());
-
-            //Set the current day color
-            setCurrentDay(mCalendar.getTime());
+    /**
+     * Maps a point of the CalendarView to the index of the day cell under it, using the
+     * cell sizes instead of walking the view tree.
+     *
+     * @param x - X coordinate, relative to this view.
+     * @param y - Y coordinate, relative to this view.
+     * @return the index of the cell, from 0 to 41, or -1 if the point is not over a cell.
+     */
+    private int getCellIndexAt(float x, float y) {
+        if (null == mGrid || null != mModeAnimator) {
+            return -1;
+        }
 
-            if (mOnDateLongClickListener != null) {
-                mOnDateLongClickListener.onDateLongClick(calendar.getTime());
+        final boolean weekMode = mCalendarMode == MODE_WEEK;
+        final float gridX = x - mDaysContainer.getLeft();
+        final float gridY = y - mDaysContainer.getTop();
+        final int width = mDaysContainer.getWidth();
+        final int rowHeight = mWeekRows[weekMode ? mWeekRow : 0].getHeight();
+
+        if (gridX < 0 || gridY < 0 || gridX >= width || rowHeight <= 0) {
+            return -1;
+        }
+
+        // The week strip lays out the row of its week only..
+        int row = (int) (gridY / rowHeight);
+        if (weekMode) {
+            if (row != 0) {
+                return -1;
             }
+            row = mWeekRow;
+        } else if (row >= mGrid.getRowCount()) {
+            return -1;
+        }
+
+        return row * 7 + (int) (gridX * 7 / width);
+    }
 
+    /**
+     * Handles a click or a long click over the day cell at the given point.
+     *
+     * @return true if the point was over a day of the current month.
+     */
+    private boolean performDayClick(float x, float y, boolean longClick) {
+        // Make sure the grid model matches what is on screen..
+        executePendingRefresh();
+        return performDayClick(getCellIndexAt(x, y), longClick);
+    }
+
+    /**
+     * Handles a click or a long click over the given day cell.
+     *
+     * @return true if the cell is a day of the current month.
+     */
+    private boolean performDayClick(int cell, boolean longClick) {
+        if (!isCellClickable(cell)) {
             return false;
         }
-    };
 
-    private OnClickListener onDayOfMonthClickListener = new OnClickListener() {
-        @Override
-        public void onClick(View view) {
-            // Extract day selected
-            ViewGroup dayOfMonthContainer = (ViewGroup) view;
-            String tagId = (String) dayOfMonthContainer.getTag();
-            tagId = tagId.substring(mContext.getString(R.string.day_of_month_container).length(), tagId.length());
-            final TextView dayOfMonthText = (TextView) view.findViewWithTag(mContext.getString(R.string.day_of_month_text) + tagId);
-
-            // Fire event
-            final Calendar calendar = Calendar.getInstance();
-            calendar.setFirstDayOfWeek(mFirstDayOfWeek);
-            calendar.setTime(mCalendar.getTime());
-            calendar.set(Calendar.DAY_OF_MONTH, Integer.valueOf(dayOfMonthText.getText().toString()));
-            setDateAsSelected(calendar.getTime());
-
-            //Set the current day color
-            setCurrentDay(mCalendar.getTime());
+        // Fire event
+        mTouchCalendar.setTime(mCalendar.getTime());
+        EpochDays.set(mTouchCalendar, mGrid.getEpochDay(cell));
+        final Date date = mTouchCalendar.getTime();
+        setDateAsSelected(date);
+
+        //Set the current day color
+        setCurrentDay(mCalendar.getTime());
 
+        if (longClick) {
+            if (mOnDateLongClickListener != null) {
+                CalendarStrictMode.begin("OnDateLongClickListener");
+                try {
+                    mOnDateLongClickListener.onDateLongClick(date);
+                } finally {
+                    CalendarStrictMode.end();
+                }
+            }
+        } else {
             if (mOnDateClickListener != null) {
-                mOnDateClickListener.onDateClick(calendar.getTime());
+                CalendarStrictMode.begin("OnDateClickListener");
+                try {
+                    mOnDateClickListener.onDateClick(date);
+                } finally {
+                    CalendarStrictMode.end();
+                }
+            }
+
+            if (mOnEventDateClickListener != null) {
+                final List<Object> payloads = mModel.getSnapshot().getEventPayloads(mGrid.getEpochDay(cell));
+                CalendarStrictMode.begin("OnEventDateClickListener");
+                try {
+                    mOnEventDateClickListener.onEventDateClick(date, payloads);
+                } finally {
+                    CalendarStrictMode.end();
+                }
             }
         }
-    };
 
-    private boolean isGutterDrag(float x, float dx) {
-        return (x < mDefaultGutterSize && dx > 0) || (x > getWidth() - mDefaultGutterSize && dx < 0);
+        return true;
     }
 
-    private void setScrollingCacheEnabled(boolean enabled) {
-        if (mScrollingCacheEnabled != enabled) {
-            mScrollingCacheEnabled = enabled;
-            if (USE_CACHE) {
-                final int size = getChildCount();
-                for (int i = 0; i < size; ++i) {
-                    final View child = getChildAt(i);
-                    if (child.getVisibility() != GONE) {
-                        child.setDrawingCacheEnabled(enabled);
-                    }
-                }
-            }
+    /**
+     * @return true if the cell is an enabled day of the current month.
+     */
+    private boolean isCellClickable(int cell) {
+        return cell >= 0 && null != mGrid && mGrid.isInMonth(cell) && isDayEnabled(mGrid.getEpochDay(cell));
+    }
+
+    /**
+     * Draws the given cell as pressed, and the previously pressed one as released.
+     *
+     * @param cell - the cell to press, or -1 for none.
+     */
+    private void setPressedCell(int cell) {
+        removeCallbacks(mUnpressRunnable);
+        if (cell == mPressedCell) {
+            return;
+        }
+
+        if (mPressedCell >= 0 && null != mDayViews[mPressedCell]) {
+            mDayViews[mPressedCell].setPressed(false);
         }
+        mPressedCell = cell;
+        if (cell >= 0 && null != mDayViews[cell]) {
+            mDayViews[cell].setPressed(true);
+        }
+    }
+
+    private void pressCellAt(float x, float y) {
+        final int cell = getCellIndexAt(x, y);
+        setPressedCell(isCellClickable(cell) ? cell : -1);
+    }
+
+    private boolean isGutterDrag(float x, float dx) {
+        return (x < mDefaultGutterSize && dx > 0) || (x > getWidth() - mDefaultGutterSize && dx < 0);
     }
 
     private void onSecondaryPointerUp(MotionEvent ev) {
@@ -797,9 +1878,91 @@ public class CalendarView extends LinearLayout {
         }
     }
 
+    /**
+     * Registers a descendant able to scroll horizontally. While the user drags over it, the
+     * CalendarView lets the descendant handle the gesture instead of changing months.
+     *
+     * @param child - a descendant of this CalendarView.
+     */
+    public void addScrollableChild(@NonNull View child) {
+        if (!mScrollableChildren.contains(child)) {
+            mScrollableChildren.add(child);
+            mScrollableChildRects.add(new Rect());
+            requestLayout();
+        }
+    }
+
+    /**
+     * Unregisters a descendant added with {@link #addScrollableChild(View)}.
+     *
+     * @param child - the descendant to remove.
+     */
+    public void removeScrollableChild(@NonNull View child) {
+        final int index = mScrollableChildren.indexOf(child);
+        if (index >= 0) {
+            mScrollableChildren.remove(index);
+            mScrollableChildRects.remove(index);
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        updateScrollableChildRects();
+    }
+
+    private void updateScrollableChildRects() {
+        for (int i = 0, size = mScrollableChildren.size(); i < size; i++) {
+            final View child = mScrollableChildren.get(i);
+            final Rect rect = mScrollableChildRects.get(i);
+
+            int left = 0;
+            int top = 0;
+            View v = child;
+            while (v != this && null != v) {
+                left += v.getLeft() - v.getScrollX();
+                top += v.getTop() - v.getScrollY();
+                final ViewParent parent = v.getParent();
+                v = parent instanceof View ? (View) parent : null;
+            }
+
+            if (null == v) {
+                // Not attached to this CalendarView..
+                rect.setEmpty();
+            } else {
+                left += getScrollX();
+                top += getScrollY();
+                rect.set(left, top, left + child.getWidth(), top + child.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Tests scroll ability of the registered scrollable descendants under the given point,
+     * using the hit rects cached on the last layout pass.
+     *
+     * @param dx - Delta scrolled in pixels
+     * @param x  - X coordinate of the active touch point
+     * @param y  - Y coordinate of the active touch point
+     * @return true if a registered descendant under the point can be scrolled by delta of dx.
+     */
+    private boolean canScrollChildren(int dx, int x, int y) {
+        // Count backwards - let the last registered views consume scroll distance first.
+        for (int i = mScrollableChildren.size() - 1; i >= 0; i--) {
+            if (mScrollableChildRects.get(i).contains(x, y) &&
+                    ViewCompat.canScrollHorizontally(mScrollableChildren.get(i), -dx)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Tests scroll ability within child views of v given a delta of dx.
      *
+     * @deprecated the CalendarView no longer walks its view tree while intercepting touch
+     * events, register scrollable descendants with {@link #addScrollableChild(View)} instead.
+     *
      * @param v      View to test for horizontal scroll ability
      * @param checkV Whether the view v passed should itself be checked for scrollability (true),
      *               or just its children (false).
@@ -808,6 +1971,7 @@ public class CalendarView extends LinearLayout {
      * @param y      Y coordinate of the active touch point
      * @return true if child views of v can be scrolled by delta of dx.
      */
+    @Deprecated
     protected boolean canScroll(View v, boolean checkV, int dx, int x, int y) {
         if (v instanceof ViewGroup) {
             final ViewGroup group = (ViewGroup) v;
@@ -833,8 +1997,6 @@ public class CalendarView extends LinearLayout {
     private void completeScroll(boolean postEvents) {
         boolean needPopulate = mScrollState == SCROLL_STATE_SETTLING;
         if (needPopulate) {
-            // Done with scroll, no longer want to cache view drawing.
-            setScrollingCacheEnabled(false);
             mScroller.abortAnimation();
             int oldX = getScrollX();
             int oldY = getScrollY();
@@ -855,13 +2017,9 @@ public class CalendarView extends LinearLayout {
     }
 
     @Override
-    public boolean dispatchTouchEvent(MotionEvent ev) {
-        if (null != mGestureDetector) {
-            mGestureDetector.onTouchEvent(ev);
-            super.dispatchTouchEvent(ev);
-            return true;
-        }
-        return super.dispatchTouchEvent(ev);
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return (null != mAccessibilityHelper && mAccessibilityHelper.dispatchHoverEvent(event))
+                || super.dispatchHoverEvent(event);
     }
 
     @Override
@@ -881,8 +2039,7 @@ public class CalendarView extends LinearLayout {
             mIsUnableToDrag = false;
             mActivePointerId = INVALID_POINTER;
             if (mVelocityTracker != null) {
-                mVelocityTracker.recycle();
-                mVelocityTracker = null;
+                mVelocityTracker.clear();
             }
             return false;
         }
@@ -916,6 +2073,10 @@ public class CalendarView extends LinearLayout {
                 }
 
                 final int pointerIndex = MotionEventCompat.findPointerIndex(ev, activePointerId);
+                if (pointerIndex < 0) {
+                    break;
+                }
+
                 final float x = MotionEventCompat.getX(ev, pointerIndex);
                 final float dx = x - mLastMotionX;
                 final float xDiff = Math.abs(dx);
@@ -923,11 +2084,12 @@ public class CalendarView extends LinearLayout {
                 final float yDiff = Math.abs(y - mInitialMotionY);
 
                 if (dx != 0 && !isGutterDrag(mLastMotionX, dx) &&
-                        canScroll(this, false, (int) dx, (int) x, (int) y)) {
+                        canScrollChildren((int) dx, (int) x, (int) y)) {
                     // Nested view has scrollable area under this point. Let it be handled there.
                     mLastMotionX = x;
                     mLastMotionY = y;
                     mIsUnableToDrag = true;
+                    mIsNestedScrolling = true;
                     return false;
                 }
                 if (xDiff > mTouchSlop && xDiff * 0.5f > yDiff) {
@@ -937,7 +2099,6 @@ public class CalendarView extends LinearLayout {
                     mLastMotionX = dx > 0 ? mInitialMotionX + mTouchSlop :
                             mInitialMotionX - mTouchSlop;
                     mLastMotionY = y;
-                    setScrollingCacheEnabled(true);
                 } else if (yDiff > mTouchSlop) {
                     // The finger has moved enough in the vertical
                     // direction to be counted as a drag...  abort
@@ -957,6 +2118,7 @@ public class CalendarView extends LinearLayout {
                 mLastMotionY = mInitialMotionY = ev.getY();
                 mActivePointerId = MotionEventCompat.getPointerId(ev, 0);
                 mIsUnableToDrag = false;
+                mIsNestedScrolling = false;
 
                 mScroller.computeScrollOffset();
                 if (mScrollState == SCROLL_STATE_SETTLING &&
@@ -982,67 +2144,219 @@ public class CalendarView extends LinearLayout {
 
         mVelocityTracker.addMovement(ev);
 
-        /*
-         * The only time we want to intercept motion events is if we are in the
-         * drag mode.
-         */
-        return mIsBeingDragged;
+        /*
+         * The only time we want to intercept motion events is if we are in the
+         * drag mode.
+         */
+        return mIsBeingDragged;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        // Fed here and in onInterceptTouchEvent(), like the ViewPager, so the one tracker sees
+        // the whole gesture whether or not a child took its start..
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(ev);
+
+        switch (ev.getAction() & MotionEventCompat.ACTION_MASK) {
+            case MotionEvent.ACTION_DOWN: {
+                mInitialMotionX = ev.getX();
+                mInitialMotionY = ev.getY();
+                mActivePointerId = MotionEventCompat.getPointerId(ev, 0);
+                mIsTapping = true;
+                mIsLongPressed = false;
+                postDelayed(mShowPressRunnable, ViewConfiguration.getTapTimeout());
+                postDelayed(mLongPressRunnable, ViewConfiguration.getTapTimeout() + ViewConfiguration.getLongPressTimeout());
+                break;
+            }
+
+            case MotionEvent.ACTION_MOVE: {
+                if (mIsTapping && (Math.abs(ev.getX() - mInitialMotionX) > mTapSlop ||
+                        Math.abs(ev.getY() - mInitialMotionY) > mTapSlop)) {
+                    // A swipe is not a tap..
+                    cancelTap();
+                    setPressedCell(-1);
+                }
+                break;
+            }
+
+            case MotionEvent.ACTION_UP: {
+                if (mIsTapping) {
+                    cancelTap();
+                    pressCellAt(mInitialMotionX, mInitialMotionY);
+                    performDayClick(mInitialMotionX, mInitialMotionY, false);
+                } else if (!mIsLongPressed) {
+                    mVelocityTracker.computeCurrentVelocity(1000, mMaximumVelocity);
+                    onFling(ev, VelocityTrackerCompat.getXVelocity(mVelocityTracker, mActivePointerId));
+                }
+                if (mPressedCell >= 0) {
+                    // Keep a quickly tapped cell pressed long enough to be seen..
+                    postDelayed(mUnpressRunnable, ViewConfiguration.getPressedStateDuration());
+                }
+                endDrag();
+                break;
+            }
+
+            case MotionEvent.ACTION_CANCEL: {
+                cancelTap();
+                setPressedCell(-1);
+                endDrag();
+                break;
+            }
+
+            case MotionEventCompat.ACTION_POINTER_UP:
+                onSecondaryPointerUp(ev);
+                break;
+        }
+        return true;
+    }
+
+    private void cancelTap() {
+        mIsTapping = false;
+        removeCallbacks(mShowPressRunnable);
+        removeCallbacks(mLongPressRunnable);
     }
 
-    @Override
-    public boolean onTouchEvent(MotionEvent event) {
-        return mGestureDetector.onTouchEvent(event);
+    private void endDrag() {
+        mIsBeingDragged = false;
+        mIsUnableToDrag = false;
+        mActivePointerId = INVALID_POINTER;
+        if (mVelocityTracker != null) {
+            mVelocityTracker.clear();
+        }
     }
 
     /**
-     * CalendarGestureDetector class used to detect Swipes gestures.
+     * Changes the month, or the week, when the gesture ending with the given event is a
+     * horizontal fling.
      *
-     * @author jonatan.salas
+     * @param velocityX - the horizontal velocity, in pixels per second, already clamped.
+     */
+    private void onFling(MotionEvent ev, float velocityX) {
+        if (mIsNestedScrolling) {
+            // A scrollable descendant is handling this gesture
+            return;
+        }
+
+        final float diffX = ev.getX() - mInitialMotionX;
+        final float diffY = ev.getY() - mInitialMotionY;
+        if (Math.abs(diffX) > Math.abs(diffY) && Math.abs(diffX) > mTouchSlop
+                && Math.abs(velocityX) > mMinimumVelocity) {
+            final int direction = diffX > mFlingDistance ? -1 : -diffX > mFlingDistance ? 1 : 0;
+            if (direction != 0 && mCalendarMode == MODE_WEEK) {
+                changeWeek(direction);
+            } else if (direction != 0) {
+                skipMonths(direction * getFlingMonths(velocityX));
+            }
+        }
+    }
+
+    /**
+     * Exposes the days of the grid as virtual views, one per cell, so accessibility services
+     * can read the days and click them through the same handler as a tap.
      */
-    public class CalendarGestureDetector extends GestureDetector.SimpleOnGestureListener {
+    private class DayGridAccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect mCellBounds = new Rect();
+
+        DayGridAccessibilityHelper() {
+            super(CalendarView.this);
+        }
 
         @Override
-        public boolean onDown(MotionEvent e) {
-            return true;
+        protected int getVirtualViewAt(float x, float y) {
+            final int cell = getCellIndexAt(x, y);
+            return cell >= 0 && mGrid.isInMonth(cell) ? cell : INVALID_ID;
         }
 
         @Override
-        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-            try {
-                float diffY = e2.getY() - e1.getY();
-                float diffX = e2.getX() - e1.getX();
-                if (Math.abs(diffX) > Math.abs(diffY)) {
-                    if (Math.abs(diffX) > mTouchSlop && Math.abs(velocityX) > mMinimumVelocity && Math.abs(velocityX) < mMaximumVelocity) {
-                        if (e2.getX() - e1.getX() > mFlingDistance) {
-                            mCurrentMonthIndex--;
-                            mCalendar = Calendar.getInstance(Locale.getDefault());
-                            mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
-                            refreshCalendar(mCalendar);
-
-                            if (mOnMonthChangedListener != null) {
-                                mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
-                            }
-
-                        } else if (e1.getX() - e2.getX() > mFlingDistance) {
-                            mCurrentMonthIndex++;
-                            mCalendar = Calendar.getInstance(Locale.getDefault());
-                            mCalendar.add(Calendar.MONTH, mCurrentMonthIndex);
-
-                            refreshCalendar(mCalendar);
-                            if (mOnMonthChangedListener != null) {
-                                mOnMonthChangedListener.onMonthChanged(mCalendar.getTime());
-                            }
-                        }
-                    }
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (null == mGrid || null != mModeAnimator) {
+                return;
+            }
+
+            final boolean weekMode = mCalendarMode == MODE_WEEK;
+            final int first = weekMode ? mWeekRow * 7 : 0;
+            final int last = weekMode ? first + 7 : mGrid.getRowCount() * 7;
+            for (int cell = first; cell < last; cell++) {
+                if (mGrid.isInMonth(cell)) {
+                    virtualViewIds.add(cell);
                 }
+            }
+        }
 
-                return true;
+        @Override
+        protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
+            event.setContentDescription(getCellDescription(virtualViewId));
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
+            node.setContentDescription(getCellDescription(virtualViewId));
+
+            getCellBounds(virtualViewId, mCellBounds);
+            node.setBoundsInParent(mCellBounds);
+
+            final boolean clickable = isCellClickable(virtualViewId);
+            node.setEnabled(clickable);
+            node.setSelected(null != mGrid && mSelection.isSelected(mGrid.getEpochDay(virtualViewId)));
+            if (clickable) {
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_LONG_CLICK);
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, Bundle arguments) {
+            final boolean longClick = action == AccessibilityNodeInfoCompat.ACTION_LONG_CLICK;
+            if (!longClick && action != AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                return false;
+            }
+
+            executePendingRefresh();
+            if (!performDayClick(virtualViewId, longClick)) {
+                return false;
+            }
+            sendEventForVirtualView(virtualViewId, longClick
+                    ? AccessibilityEvent.TYPE_VIEW_LONG_CLICKED : AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
 
-            } catch (Exception ex) {
-                ex.printStackTrace();
+        /**
+         * @return the full date of the cell, followed by its label if it has one.
+         */
+        private String getCellDescription(int cell) {
+            if (null == mGrid || cell < 0 || cell >= MonthGrid.MAX_CELLS) {
+                return "";
             }
 
-            return super.onFling(e1, e2, velocityX, velocityY);
+            final int epochDay = mGrid.getEpochDay(cell);
+            final Calendar calendar = Calendar.getInstance(getLocale());
+            EpochDays.set(calendar, epochDay);
+            final String date = DateFormat.getDateInstance(DateFormat.FULL, getLocale()).format(calendar.getTime());
+            final String label = null != mDayLabels ? mDayLabels.getLabel(epochDay) : null;
+            return null != label ? date + ", " + label : date;
+        }
+
+        /**
+         * Computes the bounds of the cell the same way {@link #getCellIndexAt(float, float)}
+         * maps points to cells.
+         */
+        private void getCellBounds(int cell, Rect bounds) {
+            final boolean weekMode = mCalendarMode == MODE_WEEK;
+            final int width = mDaysContainer.getWidth();
+            final int rowHeight = mWeekRows[weekMode ? mWeekRow : 0].getHeight();
+            final int row = weekMode ? 0 : cell / 7;
+            final int column = cell % 7;
+
+            final int left = mDaysContainer.getLeft();
+            final int top = mDaysContainer.getTop() + row * rowHeight;
+            bounds.set(left + column * width / 7, top, left + (column + 1) * width / 7, top + rowHeight);
+            if (bounds.isEmpty()) {
+                // The helper rejects empty bounds, a cell that is not laid out gets a placeholder..
+                bounds.set(0, 0, 1, 1);
+            }
         }
     }
 
@@ -1063,6 +2377,19 @@ public class CalendarView extends LinearLayout {
         void onDateClick(@NonNull Date selectedDate);
     }
 
+    /**
+     * Interface used to handle a click on a date along with the payloads of its events,
+     * looked up in O(log n).
+     */
+    public interface OnEventDateClickListener {
+
+        /**
+         * @param selectedDate - the date selected by the user.
+         * @param payloads     - the payloads of the events of the date, empty if it has none.
+         */
+        void onEventDateClick(@NonNull Date selectedDate, @NonNull List<Object> payloads);
+    }
+
     /**
      * Interface that define a method to
      * implement to handle a selected date event,
@@ -1108,6 +2435,233 @@ public class CalendarView extends LinearLayout {
         void onMonthTitleClick(@NonNull Date monthDate);
     }
 
+    /**
+     * Compact state saved across process death and recreation: the absolute month shown,
+     * the selected day, the first day of the week and the mode with its week.
+     */
+    static class SavedState extends BaseSavedState {
+        int monthKey;
+        int firstDayOfWeek;
+        int selectedEpochDay;
+        boolean hasSelection;
+        int calendarMode;
+        int weekRow;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            monthKey = in.readInt();
+            firstDayOfWeek = in.readInt();
+            selectedEpochDay = in.readInt();
+            hasSelection = in.readInt() != 0;
+            calendarMode = in.readInt();
+            weekRow = in.readInt();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(monthKey);
+            out.writeInt(firstDayOfWeek);
+            out.writeInt(selectedEpochDay);
+            out.writeInt(hasSelection ? 1 : 0);
+            out.writeInt(calendarMode);
+            out.writeInt(weekRow);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    /**
+     * Heavy data derived from the event dates, kept across configuration changes with
+     * {@link #getRetainedModel()} and {@link #setRetainedModel(RetainedModel)}.
+     */
+    public static final class RetainedModel {
+        private final CalendarModel mModel;
+
+        private RetainedModel(CalendarModel model) {
+            mModel = model;
+        }
+    }
+
+    /**
+     * Editor class used to batch several changes to the CalendarView into a single refresh.
+     * Every setter mirrors the one with the same name in CalendarView.
+     */
+    public final class Editor {
+        private boolean mApplied;
+
+        private Editor() {
+        }
+
+        public Editor setTypeface(Typeface typeface) {
+            CalendarView.this.setTypeface(typeface);
+            return this;
+        }
+
+        public Editor setTypeface(int font) {
+            CalendarView.this.setTypeface(font);
+            return this;
+        }
+
+        public Editor setDecoratorsList(List<DayDecorator> decoratorsList) {
+            CalendarView.this.setDecoratorsList(decoratorsList);
+            return this;
+        }
+
+        public Editor setIsOverflowDateVisible(boolean isOverflowDateVisible) {
+            CalendarView.this.setIsOverflowDateVisible(isOverflowDateVisible);
+            return this;
+        }
+
+        public Editor setFirstDayOfWeek(int firstDayOfWeek) {
+            CalendarView.this.setFirstDayOfWeek(firstDayOfWeek);
+            return this;
+        }
+
+        public Editor setDisabledDayBackgroundColor(int disabledDayBackgroundColor) {
+            CalendarView.this.setDisabledDayBackgroundColor(disabledDayBackgroundColor);
+            return this;
+        }
+
+        public Editor setDisabledDayTextColor(int disabledDayTextColor) {
+            CalendarView.this.setDisabledDayTextColor(disabledDayTextColor);
+            return this;
+        }
+
+        public Editor setCalendarBackgroundColor(int calendarBackgroundColor) {
+            CalendarView.this.setCalendarBackgroundColor(calendarBackgroundColor);
+            return this;
+        }
+
+        public Editor setSelectedDayBackground(int selectedDayBackground) {
+            CalendarView.this.setSelectedDayBackground(selectedDayBackground);
+            return this;
+        }
+
+        public Editor setWeekLayoutBackgroundColor(int weekLayoutBackgroundColor) {
+            CalendarView.this.setWeekLayoutBackgroundColor(weekLayoutBackgroundColor);
+            return this;
+        }
+
+        public Editor setCalendarTitleBackgroundColor(int calendarTitleBackgroundColor) {
+            CalendarView.this.setCalendarTitleBackgroundColor(calendarTitleBackgroundColor);
+            return this;
+        }
+
+        public Editor setSelectedDayTextColor(int selectedDayTextColor) {
+            CalendarView.this.setSelectedDayTextColor(selectedDayTextColor);
+            return this;
+        }
+
+        public Editor setCalendarTitleTextColor(int calendarTitleTextColor) {
+            CalendarView.this.setCalendarTitleTextColor(calendarTitleTextColor);
+            return this;
+        }
+
+        public Editor setDayOfWeekTextColor(int dayOfWeekTextColor) {
+            CalendarView.this.setDayOfWeekTextColor(dayOfWeekTextColor);
+            return this;
+        }
+
+        public Editor setCurrentDayOfMonth(int currentDayOfMonth) {
+            CalendarView.this.setCurrentDayOfMonth(currentDayOfMonth);
+            return this;
+        }
+
+        public Editor setWeekendColor(int weekendColor) {
+            CalendarView.this.setWeekendColor(weekendColor);
+            return this;
+        }
+
+        public Editor setWeekend(int weekend) {
+            CalendarView.this.setWeekend(weekend);
+            return this;
+        }
+
+        public Editor setHolidayColor(int holidayColor) {
+            CalendarView.this.setHolidayColor(holidayColor);
+            return this;
+        }
+
+        public Editor setHolidays(HolidayCalendar.Region holidays) {
+            CalendarView.this.setHolidays(holidays);
+            return this;
+        }
+
+        public Editor setEventDates(List<Date> eventDates) {
+            CalendarView.this.setEventDates(eventDates);
+            return this;
+        }
+
+        public Editor setEventSource(@Nullable SqliteEventSource eventSource) {
+            CalendarView.this.setEventSource(eventSource);
+            return this;
+        }
+
+        public Editor setDateBounds(@Nullable Date minDate, @Nullable Date maxDate) {
+            CalendarView.this.setDateBounds(minDate, maxDate);
+            return this;
+        }
+
+        public Editor setDisabledDays(@Nullable DayIntervalSet disabledDays) {
+            CalendarView.this.setDisabledDays(disabledDays);
+            return this;
+        }
+
+        public Editor setDayLabels(@Nullable DayLabels dayLabels) {
+            CalendarView.this.setDayLabels(dayLabels);
+            return this;
+        }
+
+        public Editor setProgressiveDecoration(boolean progressiveDecoration) {
+            CalendarView.this.setProgressiveDecoration(progressiveDecoration);
+            return this;
+        }
+
+        /**
+         * Switches the mode without animating, the change shows with the batched refresh.
+         *
+         * @param mode - {@link #MODE_MONTH} or {@link #MODE_WEEK}.
+         */
+        public Editor setCalendarMode(int mode) {
+            CalendarView.this.setCalendarMode(mode, false);
+            return this;
+        }
+
+        public Editor setCalendar(Calendar calendar) {
+            CalendarView.this.refreshCalendar(calendar);
+            return this;
+        }
+
+        /**
+         * Ends the transaction and schedules one refresh for all the changes made since
+         * {@link CalendarView#edit()} was called.
+         */
+        public void apply() {
+            if (mApplied) {
+                throw new IllegalStateException("apply() was already called on this Editor");
+            }
+
+            mApplied = true;
+            mEditDepth--;
+            scheduleRefresh();
+        }
+    }
+
     /**
      * Attributes setters and getters.
      */
@@ -1120,6 +2674,10 @@ public class CalendarView extends LinearLayout {
         this.mOnDateClickListener = onDateClickListener;
     }
 
+    public void setOnEventDateClickListener(OnEventDateClickListener onEventDateClickListener) {
+        this.mOnEventDateClickListener = onEventDateClickListener;
+    }
+
     public void setOnDateLongClickListener(OnDateLongClickListener onDateLongClickListener) {
         this.mOnDateLongClickListener = onDateLongClickListener;
     }
@@ -1128,72 +2686,215 @@ public class CalendarView extends LinearLayout {
         this.mOnMonthChangedListener = onMonthChangedListener;
     }
 
-    private void setLastSelectedDay(Date lastSelectedDay) {
-        this.mLastSelectedDay = lastSelectedDay;
-    }
-
     public void setTypeface(Typeface typeface) {
+        this.mTypefaceFont = NO_FONT;
         this.mTypeface = typeface;
+        invalidateCalendar(DIRTY_ALL);
+    }
+
+    /**
+     * Sets one of the fonts bundled with the library. If the font is not cached yet it is
+     * loaded on a background thread and applied once available.
+     *
+     * @param font - one of the font constants of {@link TypefaceUtil}.
+     */
+    public void setTypeface(int font) {
+        final Typeface cached = TypefaceUtil.peekTypeface(font);
+        if (null != cached) {
+            setTypeface(cached);
+            return;
+        }
+
+        mTypefaceFont = font;
+        TypefaceUtil.getTypefaceAsync(mContext, font, new TypefaceUtil.OnTypefaceLoadedListener() {
+            @Override
+            public void onTypefaceLoaded(int font, Typeface typeface) {
+                // Ignore fonts replaced while loading..
+                if (mTypefaceFont == font && null != typeface) {
+                    setTypeface(typeface);
+                }
+            }
+        });
     }
 
     public void setDecoratorsList(List<DayDecorator> decoratorsList) {
         this.mDecoratorsList = decoratorsList;
+        invalidateCalendar(DIRTY_DAYS);
+    }
+
+    /**
+     * Limits the calendar to the days between the given dates. The back and next buttons
+     * and flings stop at the months of the bounds, and the days out of the bounds are shown
+     * as disabled and cannot be clicked. The current month moves within the bounds.
+     *
+     * @param minDate - the first day that can be shown, or null for no lower bound.
+     * @param maxDate - the last day that can be shown, or null for no upper bound.
+     */
+    public void setDateBounds(@Nullable Date minDate, @Nullable Date maxDate) {
+        mMinEpochDay = null != minDate ? toEpochDay(minDate) : Integer.MIN_VALUE;
+        mMaxEpochDay = null != maxDate ? toEpochDay(maxDate) : Integer.MAX_VALUE;
+        if (mMaxEpochDay < mMinEpochDay) {
+            throw new IllegalArgumentException("The maximum date is before the minimum date");
+        }
+        mMinMonthKey = null != minDate ? EpochDays.getYear(mMinEpochDay) * 12 + EpochDays.getMonth(mMinEpochDay) : NO_MIN_MONTH;
+        mMaxMonthKey = null != maxDate ? EpochDays.getYear(mMaxEpochDay) * 12 + EpochDays.getMonth(mMaxEpochDay) : NO_MAX_MONTH;
+
+        final int boundedIndex = getBoundedMonthIndex(mCurrentMonthIndex);
+        if (boundedIndex != mCurrentMonthIndex) {
+            changeMonth(boundedIndex);
+        } else {
+            invalidateCalendar(DIRTY_DAYS);
+        }
+    }
+
+    /**
+     * Disables the given days, e.g. every Sunday plus blackout ranges. Disabled days use the
+     * disabled colors and cannot be clicked, each cell is tested in O(log n).
+     *
+     * @param disabledDays - the days to disable, or null for none.
+     */
+    public void setDisabledDays(@Nullable DayIntervalSet disabledDays) {
+        mDisabledDays = null != disabledDays ? disabledDays : DayIntervalSet.EMPTY;
+        invalidateCalendar(DIRTY_DAYS);
+    }
+
+    @NonNull
+    public DayIntervalSet getDisabledDays() {
+        return mDisabledDays;
+    }
+
+    /**
+     * Shows a secondary label under the number of each day, e.g. a price or a number of free
+     * seats. The labels are formatted when they are built and drawn by the cells, which only
+     * measure a label when it changes, so refreshes do no string work.
+     *
+     * @param dayLabels - the labels, or null to remove them and the room they take.
+     */
+    public void setDayLabels(@Nullable DayLabels dayLabels) {
+        final boolean resize = (null == dayLabels) != (null == mDayLabels);
+        mDayLabels = dayLabels;
+        if (resize) {
+            // Turning the labels on or off changes the height of the cells, once..
+            final float textSize = getSubLabelTextSize();
+            for (DayView dayView : mDayViews) {
+                if (null != dayView) {
+                    dayView.setSubLabelTextSize(textSize);
+                }
+            }
+        }
+        invalidateCalendar(DIRTY_DAYS);
+    }
+
+    @Nullable
+    public DayLabels getDayLabels() {
+        return mDayLabels;
+    }
+
+    private float getSubLabelTextSize() {
+        return null != mDayLabels ? mContext.getResources().getDimension(R.dimen.daySubLabelTextSize) : 0;
+    }
+
+    /**
+     * In progressive decoration the numbers and colors of a month show in one frame, and the
+     * day decorators run over the next frames within a time budget, so heavy decorators do
+     * not delay the month. Decorators left when the month changes are skipped.
+     *
+     * @param progressiveDecoration - true to run the decorators over several frames.
+     */
+    public void setProgressiveDecoration(boolean progressiveDecoration) {
+        if (mIsProgressiveDecoration != progressiveDecoration) {
+            mIsProgressiveDecoration = progressiveDecoration;
+            invalidateCalendar(DIRTY_DAYS);
+        }
+    }
+
+    public boolean isProgressiveDecoration() {
+        return mIsProgressiveDecoration;
     }
 
     public void setIsOverflowDateVisible(boolean isOverflowDateVisible) {
         this.mIsOverflowDateVisible = isOverflowDateVisible;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setFirstDayOfWeek(int firstDayOfWeek) {
         this.mFirstDayOfWeek = firstDayOfWeek;
+        invalidateCalendar(DIRTY_WEEK | DIRTY_DAYS);
     }
 
     public void setDisabledDayBackgroundColor(int disabledDayBackgroundColor) {
         this.mDisabledDayBackgroundColor = disabledDayBackgroundColor;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setDisabledDayTextColor(int disabledDayTextColor) {
         this.mDisabledDayTextColor = disabledDayTextColor;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setCalendarBackgroundColor(int calendarBackgroundColor) {
         this.mCalendarBackgroundColor = calendarBackgroundColor;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setSelectedDayBackground(int selectedDayBackground) {
         this.mSelectedDayBackground = selectedDayBackground;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setWeekLayoutBackgroundColor(int weekLayoutBackgroundColor) {
         this.mWeekLayoutBackgroundColor = weekLayoutBackgroundColor;
+        invalidateCalendar(DIRTY_WEEK);
     }
 
     public void setCalendarTitleBackgroundColor(int calendarTitleBackgroundColor) {
         this.mCalendarTitleBackgroundColor = calendarTitleBackgroundColor;
+        invalidateCalendar(DIRTY_TITLE);
     }
 
     public void setSelectedDayTextColor(int selectedDayTextColor) {
         this.mSelectedDayTextColor = selectedDayTextColor;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setCalendarTitleTextColor(int calendarTitleTextColor) {
         this.mCalendarTitleTextColor = calendarTitleTextColor;
+        invalidateCalendar(DIRTY_TITLE);
     }
 
     public void setDayOfWeekTextColor(int dayOfWeekTextColor) {
         this.mDayOfWeekTextColor = dayOfWeekTextColor;
+        invalidateCalendar(DIRTY_WEEK | DIRTY_DAYS);
     }
 
     public void setCurrentDayOfMonth(int currentDayOfMonth) {
         this.mCurrentDayOfMonth = currentDayOfMonth;
+        invalidateCalendar(DIRTY_DAYS);
     }
 
     public void setWeekendColor(int weekendColor) {
         this.mWeekendColor = weekendColor;
+        invalidateCalendar(DIRTY_WEEK | DIRTY_DAYS);
     }
 
     public void setWeekend(int weekend) {
-        this.mWeekend = weekend;
+        mModel.setWeekend(weekend);
+    }
+
+    public void setHolidayColor(int holidayColor) {
+        this.mHolidayColor = holidayColor;
+        invalidateCalendar(DIRTY_DAYS);
+    }
+
+    /**
+     * Shows the holidays of the given region, e.g. loaded with
+     * {@link com.samsistemas.calendarview.utility.HolidayUtil}. Switching regions only
+     * swaps a reference, the holidays are tested bit by bit while the cells are bound.
+     *
+     * @param holidays - the holidays to show, or null to show none.
+     */
+    public void setHolidays(@Nullable HolidayCalendar.Region holidays) {
+        mModel.setHolidays(holidays);
     }
 
     public void setBackButtonColor(@ColorRes int colorId) {
@@ -1212,6 +2913,61 @@ public class CalendarView extends LinearLayout {
         this.mNextButton.setImageDrawable(ContextCompat.getDrawable(mContext, drawableId));
     }
 
+    /**
+     * Sets how many months a fast fling may skip at once. The months moved grow with the
+     * fling velocity, a value of 1 always moves a single month.
+     *
+     * @param maxFlingMonths - the maximum number of months moved by a fling.
+     */
+    public void setMaxFlingMonths(int maxFlingMonths) {
+        mMaxFlingMonths = Math.max(1, maxFlingMonths);
+    }
+
+    public int getMaxFlingMonths() {
+        return mMaxFlingMonths;
+    }
+
+    /**
+     * Sets whether the title counts through the skipped months when a fling moves
+     * more than one month.
+     *
+     * @param enabled - true to animate the title.
+     */
+    public void setTitleAnimationEnabled(boolean enabled) {
+        mIsTitleAnimationEnabled = enabled;
+    }
+
+    public boolean isTitleAnimationEnabled() {
+        return mIsTitleAnimationEnabled;
+    }
+
+    /**
+     * @return the default size in bytes of the snapshot cache: a few screen-sized months,
+     * never more than a sixteenth of the heap, so many views do not pin the heap.
+     */
+    private int getDefaultSnapshotCacheSize() {
+        final DisplayMetrics metrics = getResources().getDisplayMetrics();
+        final long monthBytes = (long) metrics.widthPixels * metrics.heightPixels * 4;
+        return (int) Math.min(DEFAULT_SNAPSHOT_CACHE_MONTHS * monthBytes,
+                Math.min(Runtime.getRuntime().maxMemory() / 16, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Sets the maximum number of bytes used to keep snapshots of recently shown months.
+     * By default each view keeps a few screen-sized months. A size of zero disables the
+     * snapshot cache.
+     *
+     * @param maxBytes - the maximum size of the snapshot cache, in bytes.
+     */
+    public void setSnapshotCacheSize(int maxBytes) {
+        if (null != mPendingSnapshot) {
+            cancelPendingSnapshot();
+            invalidateCalendar(DIRTY_DAYS);
+        }
+        mSnapshotCache.clear();
+        mSnapshotCache = new MonthSnapshotCache(Math.max(maxBytes, 1));
+    }
+
     public Typeface getTypeface() {
         return mTypeface;
     }
@@ -1236,11 +2992,62 @@ public class CalendarView extends LinearLayout {
         return mIsOverflowDateVisible;
     }
 
+    /**
+     * @return the unmodifiable list of event dates of the model.
+     */
     public List<Date> getEventDates() {
-        return eventDates;
+        return mModel.getSnapshot().getEventDates();
     }
 
+    /**
+     * Replaces the event dates of the model. Safe to call from any thread, the calendar
+     * refreshes on the main thread once per frame.
+     * <p>
+     * Each date marks its own day only. Earlier versions matched the day and month in any
+     * year, so an event on March 14, 2022 also marked March 14 of every other year; add a
+     * date per year for events that repeat.
+     *
+     * @param eventDates - the new event dates.
+     */
     public void setEventDates(List<Date> eventDates) {
-        this.eventDates = eventDates;
+        mModel.setEventDates(eventDates);
+    }
+
+    /**
+     * Reads the event days of each month shown from the given source, keeping only a few
+     * months in memory. The days are published to the model next to its event dates and event
+     * days, which may still be set.
+     *
+     * @param eventSource - the source of the event days, or null to stop reading from it.
+     */
+    public void setEventSource(@Nullable SqliteEventSource eventSource) {
+        if (eventSource == mEventSource) {
+            return;
+        }
+
+        if (null != mEventSource) {
+            // Drops the days of the old source, and the windows it has yet to load..
+            mEventSource.detach(mModel);
+        }
+
+        mEventSource = eventSource;
+        if (null != eventSource && null != mGrid) {
+            eventSource.loadWindow(mModel, mGrid.getEpochDay(0), mGrid.getEpochDay(mGrid.getCellCount() - 1));
+        }
+    }
+
+    @Nullable
+    public SqliteEventSource getEventSource() {
+        return mEventSource;
+    }
+
+    /**
+     * Shows the days of an event file, e.g. mapped at startup, until the event dates are set.
+     *
+     * @param eventDays - the event days, or null for none.
+     * @see CalendarModel#setEventDays(EventDayFile)
+     */
+    public void setEventDays(@Nullable EventDayFile eventDays) {
+        mModel.setEventDays(eventDays);
     }
 }
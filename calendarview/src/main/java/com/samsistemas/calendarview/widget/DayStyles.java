@@ -0,0 +1,55 @@
+package com.samsistemas.calendarview.widget;
+
+import com.samsistemas.calendarview.core.DayIntervalSet;
+import com.samsistemas.calendarview.core.EpochDays;
+
+/**
+ * Colors of a day cell, shared by the {@link CalendarView} and the {@link MonthRenderer} so
+ * both draw a month the same way.
+ */
+final class DayStyles {
+
+    private DayStyles() {
+    }
+
+    /**
+     * @return true if the day is within the bounds and not disabled, in O(log n).
+     */
+    static boolean isEnabled(int epochDay, int minEpochDay, int maxEpochDay, DayIntervalSet disabledDays) {
+        return epochDay >= minEpochDay && epochDay <= maxEpochDay && !disabledDays.contains(epochDay);
+    }
+
+    /**
+     * @return the background color of a day cell, before it is marked as selected or today.
+     */
+    static int getBackgroundColor(boolean inMonth, boolean enabled, int backgroundColor, int disabledBackgroundColor) {
+        return inMonth && enabled ? backgroundColor : disabledBackgroundColor;
+    }
+
+    /**
+     * @return the text color of a day cell, before it is marked as selected or today. Disabled
+     * days of the month use the disabled color, other days with events use the event color,
+     * even out of the month, and holidays win over weekends.
+     */
+    static int getTextColor(CalendarModel.Snapshot snapshot, int epochDay, boolean inMonth, boolean enabled,
+                            int textColor, int weekendColor, int holidayColor, int eventColor, int disabledTextColor) {
+        if (inMonth && !enabled) {
+            return disabledTextColor;
+        }
+
+        if (snapshot.hasEvent(epochDay)) {
+            return eventColor;
+        }
+
+        if (!inMonth) {
+            return disabledTextColor;
+        }
+
+        if (snapshot.isHoliday(epochDay)) {
+            return holidayColor;
+        }
+
+        return snapshot.isWeekend(EpochDays.getDayOfWeek(epochDay)) ?
+                weekendColor : textColor;
+    }
+}
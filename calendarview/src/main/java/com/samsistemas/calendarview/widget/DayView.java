@@ -1,21 +1,52 @@
 package com.samsistemas.calendarview.widget;
 
 import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
 import android.os.Build;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.widget.TextView;
 
 import com.samsistemas.calendarview.decor.DayDecorator;
 
-import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 public class DayView extends TextView {
+
+    /**
+     * Labels of the days of the month, shared by every cell.
+     */
+    private static final String[] DAY_LABELS = new String[32];
+
+    // Drawn over the cell while it is pressed, cells share a solid background color..
+    private static final int PRESSED_OVERLAY_COLOR = 0x1F000000;
+
+    static {
+        for (int day = 1; day < DAY_LABELS.length; day++) {
+            DAY_LABELS[day] = String.valueOf(day);
+        }
+    }
+
     private List<DayDecorator> mDayDecoratorList;
     private Date mDate;
 
+    // Width of the widest day label, measured for the typeface and text size below..
+    private float mMaxLabelWidth;
+    private Typeface mMeasuredTypeface;
+    private float mMeasuredTextSize = -1;
+    private boolean mIsBlockingLayout;
+
+    // Secondary label drawn under the day number, e.g. a price, null when the cell has none..
+    private TextPaint mSubLabelPaint;
+    private String mSubLabel;
+    private float mSubLabelWidth;
+
     public DayView(Context context) {
         this(context, null, 0);
     }
@@ -34,12 +65,134 @@ public class DayView extends TextView {
     }
 
     public void bind(Date date, List<DayDecorator> decorators) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        bind(date, calendar.get(Calendar.DAY_OF_MONTH), decorators);
+    }
+
+    void bind(Date date, int dayOfMonth, List<DayDecorator> decorators) {
         this.mDayDecoratorList = decorators;
         this.mDate = date;
+        setLabel(DAY_LABELS[dayOfMonth]);
+    }
+
+    /**
+     * Sets the text of the cell. Cells are fixed-size slots, so while the cell is laid out
+     * and any day label fits in it, the change only redraws the cell instead of requesting
+     * a layout pass of the whole grid. Styled text a decorator set is always replaced, so
+     * its spans do not carry over to the next day with the same number.
+     */
+    private void setLabel(String label) {
+        final CharSequence text = getText();
+        if (!(text instanceof Spanned) && TextUtils.equals(text, label)) {
+            return;
+        }
+
+        mIsBlockingLayout = isFixedSlot();
+        try {
+            setText(label);
+        } finally {
+            mIsBlockingLayout = false;
+        }
+    }
+
+    /**
+     * Reserves room for a secondary label under the day number, in the given text size, or
+     * removes it. Changes the height of the cell, so it is only called when the labels are
+     * turned on or off, not per day.
+     *
+     * @param textSize - the text size of the label in pixels, or 0 for no label.
+     */
+    void setSubLabelTextSize(float textSize) {
+        if (textSize <= 0) {
+            if (null != mSubLabelPaint) {
+                mSubLabelPaint = null;
+                mSubLabel = null;
+                setPadding(getPaddingLeft(), getPaddingTop(), getPaddingRight(), 0);
+            }
+            return;
+        }
+
+        if (null == mSubLabelPaint) {
+            mSubLabelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        } else if (mSubLabelPaint.getTextSize() == textSize) {
+            return;
+        }
+
+        mSubLabelPaint.setTextSize(textSize);
+        measureSubLabel();
+        setPadding(getPaddingLeft(), getPaddingTop(), getPaddingRight(),
+                (int) Math.ceil(mSubLabelPaint.descent() - mSubLabelPaint.ascent()));
+    }
 
-        final SimpleDateFormat df = new SimpleDateFormat("d", Locale.getDefault());
-        int day = Integer.parseInt(df.format(date));
-        setText(String.valueOf(day));
+    /**
+     * Sets the secondary label of the day. Labels are shared strings, so an unchanged label
+     * is skipped before any measurement, and a new one is measured once and only redrawn.
+     *
+     * @param label - the label, or null for none.
+     */
+    void setSubLabel(String label) {
+        if (null == mSubLabelPaint || TextUtils.equals(mSubLabel, label)) {
+            return;
+        }
+
+        mSubLabel = label;
+        measureSubLabel();
+        invalidate();
+    }
+
+    private void measureSubLabel() {
+        mSubLabelPaint.setTypeface(getPaint().getTypeface());
+        mSubLabelWidth = null != mSubLabel ? mSubLabelPaint.measureText(mSubLabel) : 0;
+    }
+
+    @Override
+    public void setPressed(boolean pressed) {
+        super.setPressed(pressed);
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (isPressed()) {
+            canvas.drawColor(PRESSED_OVERLAY_COLOR);
+        }
+        super.onDraw(canvas);
+
+        if (null != mSubLabel) {
+            if (mSubLabelPaint.getTypeface() != getPaint().getTypeface()) {
+                measureSubLabel();
+            }
+            mSubLabelPaint.setColor(getCurrentTextColor());
+            canvas.drawText(mSubLabel, (getWidth() - mSubLabelWidth) / 2f,
+                    getHeight() - mSubLabelPaint.descent(), mSubLabelPaint);
+        }
+    }
+
+    private boolean isFixedSlot() {
+        if (getWidth() == 0 || isLayoutRequested()) {
+            return false;
+        }
+
+        final TextPaint paint = getPaint();
+        if (paint.getTypeface() != mMeasuredTypeface || paint.getTextSize() != mMeasuredTextSize) {
+            mMeasuredTypeface = paint.getTypeface();
+            mMeasuredTextSize = paint.getTextSize();
+            mMaxLabelWidth = 0;
+            for (int day = 1; day < DAY_LABELS.length; day++) {
+                mMaxLabelWidth = Math.max(mMaxLabelWidth, paint.measureText(DAY_LABELS[day]));
+            }
+        }
+
+        return mMaxLabelWidth <= getWidth() - getCompoundPaddingLeft() - getCompoundPaddingRight();
+    }
+
+    @Override
+    public void requestLayout() {
+        // The size of the slot does not change, the text view redraws itself..
+        if (!mIsBlockingLayout) {
+            super.requestLayout();
+        }
     }
 
     public void decorate() {
@@ -0,0 +1,192 @@
+package com.samsistemas.calendarview.widget;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable list of events, each a date stored as its time in milliseconds and a payload.
+ * Appending writes into the arrays of the list it extends when nothing else was appended to
+ * them meanwhile, so adding a batch copies only the batch, in amortized O(1) per event, and
+ * older lists keep seeing their own prefix of the arrays.
+ */
+final class EventList {
+    static final EventList EMPTY = new EventList(new Buffer(0, false), 0);
+
+    // Payload of the events whose payload is their own date, created when read..
+    private static final Object DATE_PAYLOAD = new Object();
+    private static final int MIN_CAPACITY = 16;
+
+    private final Buffer mBuffer;
+    private final int mSize;
+
+    /**
+     * Arrays shared by the lists appended to one another, written only past their length.
+     */
+    private static final class Buffer {
+        final long[] mMillis;
+        final Object[] mPayloads;
+
+        // Number of events written, guarded by the buffer..
+        int mLength;
+
+        Buffer(int capacity, boolean hasPayloads) {
+            mMillis = new long[capacity];
+            mPayloads = hasPayloads ? new Object[capacity] : null;
+        }
+    }
+
+    private EventList(Buffer buffer, int size) {
+        mBuffer = buffer;
+        mSize = size;
+    }
+
+    /**
+     * @param dates    - the date of each event.
+     * @param payloads - the payload of each event, or null if each date is its own payload.
+     * @return the list of the given events.
+     */
+    static EventList of(Collection<Date> dates, List<?> payloads) {
+        if (dates.isEmpty()) {
+            return EMPTY;
+        }
+
+        final Buffer buffer = new Buffer(dates.size(), null != payloads);
+        final Iterator<?> payload = null != payloads ? payloads.iterator() : null;
+        int i = 0;
+        for (Date date : dates) {
+            buffer.mMillis[i] = date.getTime();
+            if (null != payload) {
+                buffer.mPayloads[i] = payload.next();
+            }
+            i++;
+        }
+        buffer.mLength = i;
+        return new EventList(buffer, i);
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    long getMillis(int index) {
+        return mBuffer.mMillis[index];
+    }
+
+    Object getPayload(int index) {
+        final Object payload = null != mBuffer.mPayloads ? mBuffer.mPayloads[index] : DATE_PAYLOAD;
+        return payload == DATE_PAYLOAD ? new Date(mBuffer.mMillis[index]) : payload;
+    }
+
+    /**
+     * @param dates - the dates of the events to add, each its own payload. Only their times
+     *              are kept, so the dates may be reused once this returns.
+     * @return a list with the events of this one followed by the added ones.
+     */
+    EventList append(Collection<Date> dates) {
+        final int count = dates.size();
+        if (count == 0) {
+            return this;
+        }
+
+        final int size = mSize + count;
+        synchronized (mBuffer) {
+            // Nothing was appended to the arrays past this list, so they can be shared..
+            if (mBuffer.mLength == mSize && size <= mBuffer.mMillis.length) {
+                write(mBuffer, mSize, dates);
+                mBuffer.mLength = size;
+                return new EventList(mBuffer, size);
+            }
+        }
+
+        final Buffer buffer = new Buffer((int) Math.min(Math.max(2L * size, MIN_CAPACITY), Integer.MAX_VALUE),
+                null != mBuffer.mPayloads);
+        System.arraycopy(mBuffer.mMillis, 0, buffer.mMillis, 0, mSize);
+        if (null != buffer.mPayloads) {
+            System.arraycopy(mBuffer.mPayloads, 0, buffer.mPayloads, 0, mSize);
+        }
+        write(buffer, mSize, dates);
+        buffer.mLength = size;
+        return new EventList(buffer, size);
+    }
+
+    private static void write(Buffer buffer, int start, Collection<Date> dates) {
+        int i = start;
+        for (Date date : dates) {
+            buffer.mMillis[i] = date.getTime();
+            if (null != buffer.mPayloads) {
+                buffer.mPayloads[i] = DATE_PAYLOAD;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * @param removedMillis - the times of the dates to remove.
+     * @return a list without the events on the given dates, or this list if there are none.
+     */
+    EventList remove(Set<Long> removedMillis) {
+        int kept = 0;
+        final Buffer buffer = new Buffer(mSize, null != mBuffer.mPayloads);
+        for (int i = 0; i < mSize; i++) {
+            if (!removedMillis.contains(mBuffer.mMillis[i])) {
+                buffer.mMillis[kept] = mBuffer.mMillis[i];
+                if (null != buffer.mPayloads) {
+                    buffer.mPayloads[kept] = mBuffer.mPayloads[i];
+                }
+                kept++;
+            }
+        }
+        if (kept == mSize) {
+            return this;
+        }
+        buffer.mLength = kept;
+        return kept == 0 ? EMPTY : new EventList(buffer, kept);
+    }
+
+    /**
+     * @return an unmodifiable view of the dates, creating a Date per read.
+     */
+    List<Date> getDates() {
+        return new AbstractList<Date>() {
+            @Override
+            public Date get(int index) {
+                checkIndex(index);
+                return new Date(getMillis(index));
+            }
+
+            @Override
+            public int size() {
+                return mSize;
+            }
+        };
+    }
+
+    /**
+     * @return an unmodifiable view of the payloads, in the order of the dates.
+     */
+    List<Object> getPayloads() {
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                checkIndex(index);
+                return getPayload(index);
+            }
+
+            @Override
+            public int size() {
+                return mSize;
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        // The arrays may hold events of longer lists past the size..
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + mSize);
+        }
+    }
+}
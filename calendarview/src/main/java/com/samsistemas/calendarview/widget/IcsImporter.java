@@ -0,0 +1,198 @@
+package com.samsistemas.calendarview.widget;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.samsistemas.calendarview.core.EpochDays;
+import com.samsistemas.calendarview.core.IcsReader;
+import com.samsistemas.calendarview.utility.BackgroundExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Future;
+
+/**
+ * Imports the events of an iCalendar (.ics) stream into a {@link CalendarModel}. The stream
+ * is read line by line with an {@link IcsReader} and the days with events are added to the
+ * model in batches, so views refresh while the import goes on. Memory depends on the range
+ * imported, not on the size of the file: each day is added at most once per import, as a
+ * time appended to the model without copying the days added before.
+ */
+public final class IcsImporter {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final BackgroundExecutor sExecutor = new BackgroundExecutor("CalendarView-Importer");
+
+    private static final int DEFAULT_BATCH_SIZE = 512;
+    private static final int DEFAULT_RANGE_YEARS = 5;
+
+    private final CalendarModel mModel;
+    private TimeZone mTimeZone = TimeZone.getDefault();
+    private int mFirstEpochDay;
+    private int mLastEpochDay;
+    private boolean mIsRecurrenceEnabled = true;
+    private int mBatchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Interface used to be notified on the main thread when an import ends.
+     */
+    public interface OnImportListener {
+
+        /**
+         * @param eventCount - the number of events read.
+         */
+        void onImportFinished(int eventCount);
+
+        /**
+         * @param e - the error that stopped the import, the batches added before stay.
+         */
+        void onImportFailed(@NonNull IOException e);
+    }
+
+    /**
+     * Creates an importer adding the events from five years before to five years after today.
+     *
+     * @param model - the model receiving the events.
+     */
+    public IcsImporter(@NonNull CalendarModel model) {
+        mModel = model;
+
+        final int today = EpochDays.of(Calendar.getInstance());
+        final int year = EpochDays.getYear(today);
+        mFirstEpochDay = EpochDays.of(year - DEFAULT_RANGE_YEARS, 0, 1);
+        mLastEpochDay = EpochDays.of(year + DEFAULT_RANGE_YEARS, 11, 31);
+    }
+
+    /**
+     * Limits the import to the events overlapping the given days. Recurring events are
+     * expanded within this range.
+     *
+     * @param from - the first day to import.
+     * @param to   - the last day to import.
+     */
+    public IcsImporter setRange(@NonNull Date from, @NonNull Date to) {
+        final Calendar calendar = Calendar.getInstance(mTimeZone);
+        calendar.setTime(from);
+        mFirstEpochDay = EpochDays.of(calendar);
+        calendar.setTime(to);
+        mLastEpochDay = Math.max(mFirstEpochDay, EpochDays.of(calendar));
+        return this;
+    }
+
+    /**
+     * @param enabled - false to import only the first occurrence of recurring events.
+     */
+    public IcsImporter setRecurrenceEnabled(boolean enabled) {
+        mIsRecurrenceEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * @param batchSize - the number of days added to the model at once.
+     */
+    public IcsImporter setBatchSize(int batchSize) {
+        mBatchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    /**
+     * Imports the events on a background thread and closes the stream. Cancelling the
+     * returned future with interruption stops the import after the current line.
+     *
+     * @param in       - the iCalendar stream, in UTF-8.
+     * @param listener - notified on the main thread when the import ends, may be null.
+     * @return the future of the import.
+     */
+    @NonNull
+    public Future<?> importAsync(@NonNull final InputStream in, @Nullable final OnImportListener listener) {
+        return sExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final int eventCount = importEvents(in);
+                    if (null != listener) {
+                        BackgroundExecutor.postToMainThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                listener.onImportFinished(eventCount);
+                            }
+                        });
+                    }
+                } catch (final IOException e) {
+                    if (null != listener) {
+                        BackgroundExecutor.postToMainThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                listener.onImportFailed(e);
+                            }
+                        });
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Imports the events on the calling thread, which should not be the main one, and
+     * closes the stream.
+     *
+     * @param in - the iCalendar stream, in UTF-8.
+     * @return the number of events read.
+     * @throws IOException if reading fails or the thread is interrupted.
+     */
+    public int importEvents(@NonNull InputStream in) throws IOException {
+        final int firstEpochDay = mFirstEpochDay;
+        final int lastEpochDay = mLastEpochDay;
+        final int batchSize = mBatchSize;
+
+        // One bit per day of the range, whatever the number of events, and one batch of
+        // dates reused, as the model only keeps their times..
+        final BitSet imported = new BitSet(lastEpochDay - firstEpochDay + 1);
+        final Date[] dates = new Date[batchSize];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = new Date();
+        }
+        final List<Date> batch = Arrays.asList(dates);
+        final int[] batchCount = new int[1];
+        final Calendar dayCalendar = Calendar.getInstance(mTimeZone);
+        dayCalendar.clear();
+
+        final IcsReader reader = new IcsReader(mTimeZone)
+                .setRange(firstEpochDay, lastEpochDay)
+                .setRecurrenceEnabled(mIsRecurrenceEnabled);
+
+        try {
+            final int eventCount = reader.read(new InputStreamReader(in, UTF_8), new IcsReader.OnEventListener() {
+                @Override
+                public void onEvent(int firstDay, int lastDay) {
+                    for (int day = Math.max(firstDay, firstEpochDay), end = Math.min(lastDay, lastEpochDay); day <= end; day++) {
+                        if (imported.get(day - firstEpochDay)) {
+                            continue;
+                        }
+
+                        imported.set(day - firstEpochDay);
+                        EpochDays.set(dayCalendar, day);
+                        dates[batchCount[0]++].setTime(dayCalendar.getTimeInMillis());
+                        if (batchCount[0] == batchSize) {
+                            // The model appends the batch without copying its events..
+                            mModel.addEventDates(batch);
+                            batchCount[0] = 0;
+                        }
+                    }
+                }
+            });
+
+            mModel.addEventDates(batch.subList(0, batchCount[0]));
+            return eventCount;
+        } finally {
+            in.close();
+        }
+    }
+}
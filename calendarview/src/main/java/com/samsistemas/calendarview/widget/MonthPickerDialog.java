@@ -0,0 +1,225 @@
+package com.samsistemas.calendarview.widget;
+
+import android.app.Dialog;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import com.samsistemas.calendarview.R;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Month and year picker shown when the title of a CalendarView is clicked: a strip to move
+ * through the years over a grid with the twelve months. The views are built once, showing
+ * the picker again only updates their texts and colors.
+ */
+final class MonthPickerDialog extends Dialog {
+    private static final int COLUMNS = 4;
+
+    private final View mYearStrip;
+    private final TextView mYearView;
+    private final LinearLayout mMonthsLayout;
+    private final TextView[] mMonthViews = new TextView[12];
+
+    private OnMonthPickedListener mOnMonthPickedListener;
+    private Locale mLocale;
+
+    // Year shown in the strip, month shown by the calendar and month of today..
+    private int mYear;
+    private int mSelectedYear;
+    private int mSelectedMonth;
+    private int mCurrentYear;
+    private int mCurrentMonth;
+
+    private int mBackgroundColor;
+    private int mTextColor;
+    private int mTitleBackgroundColor;
+    private int mTitleTextColor;
+    private int mSelectedBackgroundColor;
+    private int mSelectedTextColor;
+    private int mCurrentMonthColor;
+    private Typeface mTypeface;
+
+    /**
+     * Interface used to be notified of the month picked by the user.
+     */
+    interface OnMonthPickedListener {
+
+        /**
+         * @param year  - the year picked.
+         * @param month - the month picked, from 0 to 11.
+         */
+        void onMonthPicked(int year, int month);
+    }
+
+    MonthPickerDialog(@NonNull Context context) {
+        super(context, R.style.CalendarViewTitle);
+
+        final Resources resources = context.getResources();
+        final int margin = resources.getDimensionPixelSize(R.dimen.actionbar_size) / 2;
+        final int minHeight = resources.getDimensionPixelSize(R.dimen.minDayCellHeight);
+        final float textSize = resources.getDimension(R.dimen.dayOfMonthTextSize);
+
+        // The window may cover the screen, the picker is a card centered in it..
+        final FrameLayout root = new FrameLayout(context);
+        root.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                cancel();
+            }
+        });
+
+        final LinearLayout card = new LinearLayout(context);
+        card.setOrientation(LinearLayout.VERTICAL);
+        card.setClickable(true);
+        final FrameLayout.LayoutParams cardParams = new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.CENTER);
+        cardParams.setMargins(margin, margin, margin, margin);
+        root.addView(card, cardParams);
+
+        // The year strip reuses the title of the calendar..
+        mYearStrip = LayoutInflater.from(context).inflate(R.layout.material_calendar_title, card, false);
+        mYearView = (TextView) mYearStrip.findViewById(R.id.dateTitle);
+        mYearStrip.findViewById(R.id.left_button).setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mYear--;
+                update();
+            }
+        });
+        mYearStrip.findViewById(R.id.right_button).setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mYear++;
+                update();
+            }
+        });
+        card.addView(mYearStrip);
+
+        final View.OnClickListener monthClickListener = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                for (int month = 0; month < mMonthViews.length; month++) {
+                    if (mMonthViews[month] == v) {
+                        onMonthPicked(month);
+                        return;
+                    }
+                }
+            }
+        };
+
+        mMonthsLayout = new LinearLayout(context);
+        mMonthsLayout.setOrientation(LinearLayout.VERTICAL);
+        for (int row = 0; row < mMonthViews.length / COLUMNS; row++) {
+            final LinearLayout monthRow = new LinearLayout(context);
+            monthRow.setOrientation(LinearLayout.HORIZONTAL);
+            monthRow.setWeightSum(COLUMNS);
+
+            for (int column = 0; column < COLUMNS; column++) {
+                final TextView monthView = new TextView(context);
+                monthView.setGravity(Gravity.CENTER);
+                monthView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
+                monthView.setMinHeight(minHeight);
+                monthView.setOnClickListener(monthClickListener);
+
+                monthRow.addView(monthView, new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.WRAP_CONTENT, 1));
+                mMonthViews[row * COLUMNS + column] = monthView;
+            }
+
+            mMonthsLayout.addView(monthRow, new LinearLayout.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        }
+        card.addView(mMonthsLayout);
+
+        setContentView(root);
+    }
+
+    void setOnMonthPickedListener(OnMonthPickedListener onMonthPickedListener) {
+        mOnMonthPickedListener = onMonthPickedListener;
+    }
+
+    /**
+     * Sets the colors and typeface of the picker, the ones of the CalendarView showing it.
+     */
+    void setStyle(int backgroundColor, int textColor, int titleBackgroundColor, int titleTextColor,
+                  int selectedBackgroundColor, int selectedTextColor, int currentMonthColor,
+                  Typeface typeface) {
+        mBackgroundColor = backgroundColor;
+        mTextColor = textColor;
+        mTitleBackgroundColor = titleBackgroundColor;
+        mTitleTextColor = titleTextColor;
+        mSelectedBackgroundColor = selectedBackgroundColor;
+        mSelectedTextColor = selectedTextColor;
+        mCurrentMonthColor = currentMonthColor;
+        mTypeface = typeface;
+    }
+
+    /**
+     * Shows the picker with the given month selected.
+     *
+     * @param year   - the year of the month shown by the calendar.
+     * @param month  - the month shown by the calendar, from 0 to 11.
+     * @param locale - the locale of the month names.
+     */
+    void show(int year, int month, @NonNull Locale locale) {
+        if (!locale.equals(mLocale)) {
+            mLocale = locale;
+            final String[] months = new DateFormatSymbols(locale).getShortMonths();
+            for (int i = 0; i < mMonthViews.length; i++) {
+                mMonthViews[i].setText(months[i].toUpperCase(locale));
+            }
+        }
+
+        final Calendar today = Calendar.getInstance(locale);
+        mCurrentYear = today.get(Calendar.YEAR);
+        mCurrentMonth = today.get(Calendar.MONTH);
+        mSelectedYear = year;
+        mSelectedMonth = month;
+        mYear = year;
+
+        mYearStrip.setBackgroundColor(mTitleBackgroundColor);
+        mYearView.setTextColor(mTitleTextColor);
+        mMonthsLayout.setBackgroundColor(mBackgroundColor);
+        if (null != mTypeface) {
+            mYearView.setTypeface(mTypeface, Typeface.BOLD);
+        }
+
+        update();
+        show();
+    }
+
+    private void update() {
+        mYearView.setText(String.valueOf(mYear));
+
+        for (int month = 0; month < mMonthViews.length; month++) {
+            final TextView monthView = mMonthViews[month];
+            final boolean selected = mYear == mSelectedYear && month == mSelectedMonth;
+            final boolean current = mYear == mCurrentYear && month == mCurrentMonth;
+
+            monthView.setBackgroundColor(selected ? mSelectedBackgroundColor : mBackgroundColor);
+            monthView.setTextColor(current ? mCurrentMonthColor : selected ? mSelectedTextColor : mTextColor);
+            if (null != mTypeface) {
+                monthView.setTypeface(mTypeface);
+            }
+        }
+    }
+
+    private void onMonthPicked(int month) {
+        dismiss();
+        if (null != mOnMonthPickedListener) {
+            mOnMonthPickedListener.onMonthPicked(mYear, month);
+        }
+    }
+}
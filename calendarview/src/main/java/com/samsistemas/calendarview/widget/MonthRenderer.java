@@ -0,0 +1,415 @@
+package com.samsistemas.calendarview.widget;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+
+import com.samsistemas.calendarview.R;
+import com.samsistemas.calendarview.core.DayIntervalSet;
+import com.samsistemas.calendarview.core.DayLabels;
+import com.samsistemas.calendarview.core.EpochDays;
+import com.samsistemas.calendarview.core.MonthGrid;
+import com.samsistemas.calendarview.utility.BackgroundExecutor;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Draws a month of the calendar into a Bitmap without a window or a view hierarchy, e.g. for
+ * app widgets or shared images. The month is laid out with the same {@link MonthGrid} and
+ * day colors as the {@link CalendarView}. Day decorators need a {@link DayView} and are not
+ * applied.
+ * <p>
+ * {@link #render(int, int, int, int, float)} may be called on any thread, as long as the
+ * renderer is not changed meanwhile. {@link #renderAsync(int, int, int, int, float,
+ * OnMonthRenderedListener)} renders a copy of the renderer on a background thread.
+ */
+public final class MonthRenderer {
+    private static final BackgroundExecutor sExecutor = new BackgroundExecutor("CalendarView-Renderer");
+
+    // Sizes in dp, read once from the resources used by the CalendarView..
+    private final float mTitleHeight;
+    private final float mTitleTextSize;
+    private final float mWeekPadding;
+    private final float mDayOfWeekTextSize;
+    private final float mDayOfMonthTextSize;
+    private final float mDaySubLabelTextSize;
+
+    private CalendarModel mModel;
+    private int mFirstDayOfWeek = Calendar.SUNDAY;
+    private Typeface mTypeface;
+    private boolean mIsTitleVisible = true;
+    private boolean mIsOverflowDateVisible = true;
+    private int mMinEpochDay = Integer.MIN_VALUE;
+    private int mMaxEpochDay = Integer.MAX_VALUE;
+    private DayIntervalSet mDisabledDays = DayIntervalSet.EMPTY;
+    private DayLabels mDayLabels;
+
+    private int mCalendarBackgroundColor;
+    private int mCalendarTitleBackgroundColor;
+    private int mCalendarTitleTextColor;
+    private int mWeekLayoutBackgroundColor;
+    private int mDayOfWeekTextColor;
+    private int mDayOfWeekTextEventColor;
+    private int mDisabledDayBackgroundColor;
+    private int mDisabledDayTextColor;
+    private int mSelectedDayBackground;
+    private int mCurrentDayOfMonth;
+    private int mWeekendColor;
+    private int mHolidayColor;
+
+    /**
+     * Creates a renderer with the default colors of the CalendarView and an empty model.
+     *
+     * @param context - the context used to read the default sizes and colors.
+     */
+    public MonthRenderer(@NonNull Context context) {
+        final Resources resources = context.getResources();
+        final float density = resources.getDisplayMetrics().density;
+
+        mTitleHeight = resources.getDimension(R.dimen.actionbar_size) / density;
+        mTitleTextSize = resources.getDimension(R.dimen.dateTitleTextSize) / density;
+        mWeekPadding = (resources.getDimension(R.dimen.weekTitlePaddingTop) +
+                resources.getDimension(R.dimen.weekTitlePaddingBottom)) / density;
+        mDayOfWeekTextSize = resources.getDimension(R.dimen.dayOfWeekTitleTextSize) / density;
+        mDayOfMonthTextSize = resources.getDimension(R.dimen.dayOfMonthTextSize) / density;
+        mDaySubLabelTextSize = resources.getDimension(R.dimen.daySubLabelTextSize) / density;
+
+        final int white = ContextCompat.getColor(context, android.R.color.white);
+        final int black = ContextCompat.getColor(context, android.R.color.black);
+
+        mModel = new CalendarModel(resources.getConfiguration().locale);
+        mCalendarBackgroundColor = white;
+        mCalendarTitleBackgroundColor = white;
+        mCalendarTitleTextColor = black;
+        mWeekLayoutBackgroundColor = white;
+        mDayOfWeekTextColor = black;
+        mDayOfWeekTextEventColor = ContextCompat.getColor(context, R.color.event_day_text_color);
+        mDisabledDayBackgroundColor = ContextCompat.getColor(context, R.color.day_disabled_background_color);
+        mDisabledDayTextColor = ContextCompat.getColor(context, R.color.day_disabled_text_color);
+        mSelectedDayBackground = ContextCompat.getColor(context, R.color.selected_day_background);
+        mCurrentDayOfMonth = ContextCompat.getColor(context, R.color.current_day_of_month);
+        mWeekendColor = ContextCompat.getColor(context, R.color.weekend_color);
+        mHolidayColor = ContextCompat.getColor(context, R.color.holiday_color);
+    }
+
+    private MonthRenderer(MonthRenderer other) {
+        mTitleHeight = other.mTitleHeight;
+        mTitleTextSize = other.mTitleTextSize;
+        mWeekPadding = other.mWeekPadding;
+        mDayOfWeekTextSize = other.mDayOfWeekTextSize;
+        mDayOfMonthTextSize = other.mDayOfMonthTextSize;
+        mDaySubLabelTextSize = other.mDaySubLabelTextSize;
+
+        mModel = other.mModel;
+        mFirstDayOfWeek = other.mFirstDayOfWeek;
+        mTypeface = other.mTypeface;
+        mIsTitleVisible = other.mIsTitleVisible;
+        mIsOverflowDateVisible = other.mIsOverflowDateVisible;
+        mMinEpochDay = other.mMinEpochDay;
+        mMaxEpochDay = other.mMaxEpochDay;
+        mDisabledDays = other.mDisabledDays;
+        mDayLabels = other.mDayLabels;
+        mCalendarBackgroundColor = other.mCalendarBackgroundColor;
+        mCalendarTitleBackgroundColor = other.mCalendarTitleBackgroundColor;
+        mCalendarTitleTextColor = other.mCalendarTitleTextColor;
+        mWeekLayoutBackgroundColor = other.mWeekLayoutBackgroundColor;
+        mDayOfWeekTextColor = other.mDayOfWeekTextColor;
+        mDayOfWeekTextEventColor = other.mDayOfWeekTextEventColor;
+        mDisabledDayBackgroundColor = other.mDisabledDayBackgroundColor;
+        mDisabledDayTextColor = other.mDisabledDayTextColor;
+        mSelectedDayBackground = other.mSelectedDayBackground;
+        mCurrentDayOfMonth = other.mCurrentDayOfMonth;
+        mWeekendColor = other.mWeekendColor;
+        mHolidayColor = other.mHolidayColor;
+    }
+
+    /**
+     * Interface used to receive a month rendered on a background thread.
+     */
+    public interface OnMonthRenderedListener {
+
+        /**
+         * Called on the main thread once the month is drawn.
+         *
+         * @param year   - the rendered year.
+         * @param month  - the rendered month, from 0 to 11.
+         * @param bitmap - the bitmap holding the month.
+         */
+        void onMonthRendered(int year, int month, @NonNull Bitmap bitmap);
+    }
+
+    /**
+     * Draws the given month into a new bitmap.
+     *
+     * @param year    - the year.
+     * @param month   - the month, from 0 to 11.
+     * @param width   - the width of the bitmap, in pixels.
+     * @param height  - the height of the bitmap, in pixels.
+     * @param density - the density used to scale the sizes, as in DisplayMetrics.density.
+     * @return the bitmap holding the month.
+     */
+    @NonNull
+    public Bitmap render(int year, int month, int width, int height, float density) {
+        final Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        draw(new Canvas(bitmap), year, month, width, height, density);
+        return bitmap;
+    }
+
+    /**
+     * Draws the given month into a new bitmap on a background thread, using the current
+     * configuration of this renderer.
+     *
+     * @param listener - the listener notified on the main thread.
+     * @see #render(int, int, int, int, float)
+     */
+    public void renderAsync(final int year, final int month, final int width, final int height,
+                            final float density, @NonNull final OnMonthRenderedListener listener) {
+        final MonthRenderer renderer = new MonthRenderer(this);
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap bitmap = renderer.render(year, month, width, height, density);
+                BackgroundExecutor.postToMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onMonthRendered(year, month, bitmap);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Draws the given month into the given canvas, from its origin.
+     */
+    public void draw(@NonNull Canvas canvas, int year, int month, int width, int height, float density) {
+        final CalendarModel.Snapshot snapshot = mModel.getSnapshot();
+        final MonthGrid grid = MonthGrid.of(year, month, mFirstDayOfWeek);
+        final Paint fill = new Paint();
+        final Paint text = new Paint(Paint.ANTI_ALIAS_FLAG);
+        text.setTextAlign(Paint.Align.CENTER);
+
+        float top = 0;
+
+        // Title..
+        if (mIsTitleVisible) {
+            final float titleHeight = mTitleHeight * density;
+            fill.setColor(mCalendarTitleBackgroundColor);
+            canvas.drawRect(0, top, width, top + titleHeight, fill);
+
+            text.setTypeface(Typeface.create(mTypeface, Typeface.BOLD));
+            text.setTextSize(mTitleTextSize * density);
+            text.setColor(mCalendarTitleTextColor);
+            drawCenteredText(canvas, snapshot.getMonthTitle(month) + " " + year, width / 2f,
+                    top + titleHeight / 2f, text);
+            top += titleHeight;
+        }
+
+        // Week header..
+        text.setTypeface(mTypeface);
+        text.setTextSize(mDayOfWeekTextSize * density);
+        final float weekHeight = mWeekPadding * density - text.ascent() + text.descent();
+        final float columnWidth = width / (float) MonthGrid.COLUMNS;
+        fill.setColor(mWeekLayoutBackgroundColor);
+        canvas.drawRect(0, top, width, top + weekHeight, fill);
+
+        for (int column = 0; column < MonthGrid.COLUMNS; column++) {
+            final int dayOfWeek = (mFirstDayOfWeek - 1 + column) % MonthGrid.COLUMNS + 1;
+            text.setColor(snapshot.isWeekend(dayOfWeek) ? mWeekendColor : mDayOfWeekTextColor);
+            drawCenteredText(canvas, snapshot.getDayOfWeekTitle(dayOfWeek), columnWidth * (column + 0.5f),
+                    top + weekHeight / 2f, text);
+        }
+        top += weekHeight;
+
+        // Days..
+        fill.setColor(mCalendarBackgroundColor);
+        canvas.drawRect(0, top, width, height, fill);
+
+        text.setTextSize(mDayOfMonthTextSize * density);
+        final float rowHeight = (height - top) / grid.getRowCount();
+        final int today = EpochDays.of(Calendar.getInstance());
+
+        // Labels take the bottom of the cells, as in the DayView, and the numbers center above..
+        Paint subLabel = null;
+        float subLabelHeight = 0;
+        if (null != mDayLabels) {
+            subLabel = new Paint(Paint.ANTI_ALIAS_FLAG);
+            subLabel.setTextAlign(Paint.Align.CENTER);
+            subLabel.setTypeface(mTypeface);
+            subLabel.setTextSize(mDaySubLabelTextSize * density);
+            subLabelHeight = subLabel.descent() - subLabel.ascent();
+        }
+
+        for (int cell = 0, cellCount = grid.getCellCount(); cell < cellCount; cell++) {
+            final boolean inMonth = grid.isInMonth(cell);
+            if (!inMonth && !mIsOverflowDateVisible) {
+                continue;
+            }
+
+            final int epochDay = grid.getEpochDay(cell);
+            final boolean enabled = DayStyles.isEnabled(epochDay, mMinEpochDay, mMaxEpochDay, mDisabledDays);
+            int backgroundColor = DayStyles.getBackgroundColor(inMonth, enabled, mCalendarBackgroundColor,
+                    mDisabledDayBackgroundColor);
+            int textColor = DayStyles.getTextColor(snapshot, epochDay, inMonth, enabled, mDayOfWeekTextColor,
+                    mWeekendColor, mHolidayColor, mDayOfWeekTextEventColor, mDisabledDayTextColor);
+            if (inMonth && epochDay == today) {
+                backgroundColor = mSelectedDayBackground;
+                textColor = mCurrentDayOfMonth;
+            }
+
+            final float left = columnWidth * (cell % MonthGrid.COLUMNS);
+            final float cellTop = top + rowHeight * (cell / MonthGrid.COLUMNS);
+            fill.setColor(backgroundColor);
+            canvas.drawRect(left, cellTop, left + columnWidth, cellTop + rowHeight, fill);
+
+            text.setColor(textColor);
+            drawCenteredText(canvas, String.valueOf(EpochDays.getDayOfMonth(epochDay)), left + columnWidth / 2f,
+                    cellTop + (rowHeight - subLabelHeight) / 2f, text);
+
+            final String label = null != subLabel ? mDayLabels.getLabel(epochDay) : null;
+            if (null != label) {
+                subLabel.setColor(textColor);
+                canvas.drawText(label, left + columnWidth / 2f, cellTop + rowHeight - subLabel.descent(), subLabel);
+            }
+        }
+    }
+
+    private static void drawCenteredText(Canvas canvas, String value, float centerX, float centerY, Paint paint) {
+        canvas.drawText(value, centerX, centerY - (paint.ascent() + paint.descent()) / 2f, paint);
+    }
+
+    public MonthRenderer setModel(@NonNull CalendarModel model) {
+        mModel = model;
+        return this;
+    }
+
+    public MonthRenderer setFirstDayOfWeek(int firstDayOfWeek) {
+        mFirstDayOfWeek = firstDayOfWeek;
+        return this;
+    }
+
+    public MonthRenderer setTypeface(@Nullable Typeface typeface) {
+        mTypeface = typeface;
+        return this;
+    }
+
+    public MonthRenderer setTitleVisible(boolean titleVisible) {
+        mIsTitleVisible = titleVisible;
+        return this;
+    }
+
+    public MonthRenderer setIsOverflowDateVisible(boolean isOverflowDateVisible) {
+        mIsOverflowDateVisible = isOverflowDateVisible;
+        return this;
+    }
+
+    /**
+     * Draws the days out of the given dates as disabled, like
+     * {@link CalendarView#setDateBounds(Date, Date)}.
+     *
+     * @param minDate - the first enabled day, or null for no lower bound.
+     * @param maxDate - the last enabled day, or null for no upper bound.
+     */
+    public MonthRenderer setDateBounds(@Nullable Date minDate, @Nullable Date maxDate) {
+        return setEpochDayBounds(null != minDate ? toEpochDay(minDate) : Integer.MIN_VALUE,
+                null != maxDate ? toEpochDay(maxDate) : Integer.MAX_VALUE);
+    }
+
+    MonthRenderer setEpochDayBounds(int minEpochDay, int maxEpochDay) {
+        if (maxEpochDay < minEpochDay) {
+            throw new IllegalArgumentException("The maximum date is before the minimum date");
+        }
+        mMinEpochDay = minEpochDay;
+        mMaxEpochDay = maxEpochDay;
+        return this;
+    }
+
+    private int toEpochDay(Date date) {
+        final Calendar calendar = Calendar.getInstance(mModel.getSnapshot().getLocale());
+        calendar.setTime(date);
+        return EpochDays.of(calendar);
+    }
+
+    /**
+     * @param disabledDays - the days drawn as disabled, or null for none.
+     */
+    public MonthRenderer setDisabledDays(@Nullable DayIntervalSet disabledDays) {
+        mDisabledDays = null != disabledDays ? disabledDays : DayIntervalSet.EMPTY;
+        return this;
+    }
+
+    /**
+     * @param dayLabels - the labels drawn under the day numbers, or null for none.
+     */
+    public MonthRenderer setDayLabels(@Nullable DayLabels dayLabels) {
+        mDayLabels = dayLabels;
+        return this;
+    }
+
+    public MonthRenderer setCalendarBackgroundColor(int calendarBackgroundColor) {
+        mCalendarBackgroundColor = calendarBackgroundColor;
+        return this;
+    }
+
+    public MonthRenderer setCalendarTitleBackgroundColor(int calendarTitleBackgroundColor) {
+        mCalendarTitleBackgroundColor = calendarTitleBackgroundColor;
+        return this;
+    }
+
+    public MonthRenderer setCalendarTitleTextColor(int calendarTitleTextColor) {
+        mCalendarTitleTextColor = calendarTitleTextColor;
+        return this;
+    }
+
+    public MonthRenderer setWeekLayoutBackgroundColor(int weekLayoutBackgroundColor) {
+        mWeekLayoutBackgroundColor = weekLayoutBackgroundColor;
+        return this;
+    }
+
+    public MonthRenderer setDayOfWeekTextColor(int dayOfWeekTextColor) {
+        mDayOfWeekTextColor = dayOfWeekTextColor;
+        return this;
+    }
+
+    public MonthRenderer setDayOfWeekTextEventColor(int dayOfWeekTextEventColor) {
+        mDayOfWeekTextEventColor = dayOfWeekTextEventColor;
+        return this;
+    }
+
+    public MonthRenderer setDisabledDayBackgroundColor(int disabledDayBackgroundColor) {
+        mDisabledDayBackgroundColor = disabledDayBackgroundColor;
+        return this;
+    }
+
+    public MonthRenderer setDisabledDayTextColor(int disabledDayTextColor) {
+        mDisabledDayTextColor = disabledDayTextColor;
+        return this;
+    }
+
+    public MonthRenderer setSelectedDayBackground(int selectedDayBackground) {
+        mSelectedDayBackground = selectedDayBackground;
+        return this;
+    }
+
+    public MonthRenderer setCurrentDayOfMonth(int currentDayOfMonth) {
+        mCurrentDayOfMonth = currentDayOfMonth;
+        return this;
+    }
+
+    public MonthRenderer setWeekendColor(int weekendColor) {
+        mWeekendColor = weekendColor;
+        return this;
+    }
+
+    public MonthRenderer setHolidayColor(int holidayColor) {
+        mHolidayColor = holidayColor;
+        return this;
+    }
+}
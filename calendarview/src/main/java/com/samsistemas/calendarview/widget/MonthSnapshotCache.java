@@ -0,0 +1,63 @@
+package com.samsistemas.calendarview.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Cache of rendered month bitmaps. Capturing a new month reuses a pooled bitmap when one
+ * with the same dimensions is available, so it does not allocate.
+ */
+class MonthSnapshotCache extends SnapshotCache<Bitmap> {
+    private final Canvas mCanvas = new Canvas();
+
+    /**
+     * @param maxBytes - the maximum number of bytes the cached bitmaps may hold.
+     */
+    MonthSnapshotCache(int maxBytes) {
+        super(maxBytes);
+    }
+
+    /**
+     * Draws the given view into a pooled bitmap and stores it under the given month key.
+     *
+     * @param monthKey - the absolute month the view is showing.
+     * @param view     - the already laid out view to capture.
+     */
+    void capture(int monthKey, @NonNull View view) {
+        final int width = view.getWidth();
+        final int height = view.getHeight();
+        if (width <= 0 || height <= 0 || (long) width * height * 4 > maxSize()) {
+            return;
+        }
+
+        final Bitmap bitmap = obtain(monthKey, width, height);
+        bitmap.eraseColor(0);
+        mCanvas.setBitmap(bitmap);
+        view.draw(mCanvas);
+        mCanvas.setBitmap(null);
+
+        put(monthKey, bitmap);
+    }
+
+    @Override
+    Bitmap create(int width, int height) {
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    @Override
+    boolean hasSize(Bitmap snapshot, int width, int height) {
+        return snapshot.getWidth() == width && snapshot.getHeight() == height;
+    }
+
+    @Override
+    int sizeOf(Bitmap snapshot) {
+        return snapshot.getRowBytes() * snapshot.getHeight();
+    }
+
+    @Override
+    void release(Bitmap snapshot) {
+        snapshot.recycle();
+    }
+}
@@ -0,0 +1,135 @@
+package com.samsistemas.calendarview.widget;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size-bounded LRU cache of month snapshots, keyed by the absolute month (year * 12 + month)
+ * and sized in bytes. Snapshots evicted from the cache are kept in a small reuse pool. A
+ * snapshot is either in the cache, in the pool or handed out by {@link #obtain}, never in
+ * two places at once, so drawing a month never draws over another cached month.
+ */
+abstract class SnapshotCache<T> {
+    private static final int MAX_POOL_SIZE = 2;
+
+    private final LruCache<Integer, T> mCache;
+    private final List<T> mReusePool = new ArrayList<>(MAX_POOL_SIZE);
+
+    /**
+     * @param maxBytes - the maximum number of bytes the cached snapshots may hold.
+     */
+    SnapshotCache(int maxBytes) {
+        mCache = new LruCache<Integer, T>(maxBytes) {
+            @Override
+            protected int sizeOf(Integer key, T value) {
+                return SnapshotCache.this.sizeOf(value);
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Integer key, T oldValue, T newValue) {
+                // Removed snapshots belong to the caller, only evicted or replaced ones are pooled..
+                if (evicted || (null != newValue && newValue != oldValue)) {
+                    recycle(oldValue);
+                }
+            }
+        };
+    }
+
+    /**
+     * Takes the snapshot of the given month out of the cache, or a pooled or new one, to be
+     * drawn and handed back with {@link #put}.
+     *
+     * @param monthKey - the absolute month to draw.
+     * @param width    - the width of the snapshot.
+     * @param height   - the height of the snapshot.
+     * @return a snapshot of the given size, owned by the caller.
+     */
+    @NonNull
+    T obtain(int monthKey, int width, int height) {
+        final T snapshot = mCache.remove(monthKey);
+        if (null != snapshot) {
+            if (hasSize(snapshot, width, height)) {
+                return snapshot;
+            }
+            recycle(snapshot);
+        }
+
+        for (int i = mReusePool.size() - 1; i >= 0; i--) {
+            final T candidate = mReusePool.get(i);
+            if (hasSize(candidate, width, height)) {
+                mReusePool.remove(i);
+                return candidate;
+            }
+        }
+        return create(width, height);
+    }
+
+    /**
+     * Stores a snapshot taken with {@link #obtain} under the given month key.
+     */
+    void put(int monthKey, @NonNull T snapshot) {
+        mCache.put(monthKey, snapshot);
+    }
+
+    /**
+     * @param monthKey - the absolute month to look for.
+     * @return the snapshot for the given month, or null if it is not cached.
+     */
+    @Nullable
+    T get(int monthKey) {
+        return mCache.get(monthKey);
+    }
+
+    int maxSize() {
+        return mCache.maxSize();
+    }
+
+    /**
+     * Drops every cached snapshot, keeping them for reuse.
+     */
+    void invalidate() {
+        mCache.evictAll();
+    }
+
+    /**
+     * Drops every cached snapshot and releases all pooled ones.
+     */
+    void clear() {
+        mCache.evictAll();
+        for (T snapshot : mReusePool) {
+            release(snapshot);
+        }
+        mReusePool.clear();
+    }
+
+    private void recycle(T snapshot) {
+        if (mReusePool.size() >= MAX_POOL_SIZE) {
+            release(mReusePool.remove(0));
+        }
+        mReusePool.add(snapshot);
+    }
+
+    /**
+     * @return a new snapshot of the given size.
+     */
+    abstract T create(int width, int height);
+
+    /**
+     * @return true if the snapshot has the given size.
+     */
+    abstract boolean hasSize(T snapshot, int width, int height);
+
+    /**
+     * @return the size of the snapshot, in bytes.
+     */
+    abstract int sizeOf(T snapshot);
+
+    /**
+     * Releases a snapshot dropped for good, called once per snapshot.
+     */
+    abstract void release(T snapshot);
+}
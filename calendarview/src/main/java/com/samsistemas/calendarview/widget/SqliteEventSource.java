@@ -0,0 +1,265 @@
+package com.samsistemas.calendarview.widget;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.v4.util.LruCache;
+
+import com.samsistemas.calendarview.core.EpochDays;
+import com.samsistemas.calendarview.core.EventDayFile;
+import com.samsistemas.calendarview.utility.BackgroundExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Event days read from a SQLite table, one window at a time, as an alternative to holding
+ * every event date in memory. The table needs an integer column with the epoch day of each
+ * event, indexed with {@link #createIndex(SQLiteDatabase, String, String)}.
+ * <p>
+ * Each window a {@link CalendarView} shows is loaded with a single range query on a
+ * background thread. The days of the last months loaded stay in a small LRU cache, and the
+ * days of all the cached months are published to the model, next to its event dates and
+ * event days, so memory depends on the cache size and not on the size of the table.
+ * <p>
+ * Several views may share a source, each with its own model, as the windows are tracked per
+ * model.
+ *
+ * @see CalendarView#setEventSource(SqliteEventSource)
+ */
+public final class SqliteEventSource {
+    private static final BackgroundExecutor sExecutor = new BackgroundExecutor("CalendarView-EventSource");
+
+    private static final int DEFAULT_CACHE_MONTHS = 12;
+
+    private final SQLiteDatabase mDatabase;
+    private final String mQuery;
+
+    // Days of the cached months, by month key (year * 12 + month), and a version bumped when
+    // they change. Only used on the executor..
+    private final LruCache<Integer, int[]> mMonths;
+    private int mMonthsVersion;
+
+    // Last window requested per model, so windows paged past or detached before they load
+    // are skipped, and the version of the months last published to each model. Guarded by
+    // mWindows, weak so a model dropped without detaching is not kept..
+    private final Map<CalendarModel, Window> mWindows = new WeakHashMap<>();
+    private final Map<CalendarModel, Integer> mPublishedVersions = new WeakHashMap<>();
+
+    /**
+     * @param database       - the database holding the events.
+     * @param table          - the table holding the events.
+     * @param epochDayColumn - the integer column with the epoch day of each event.
+     */
+    public SqliteEventSource(@NonNull SQLiteDatabase database, @NonNull String table, @NonNull String epochDayColumn) {
+        this(database, table, epochDayColumn, DEFAULT_CACHE_MONTHS);
+    }
+
+    /**
+     * @param database       - the database holding the events.
+     * @param table          - the table holding the events.
+     * @param epochDayColumn - the integer column with the epoch day of each event.
+     * @param cacheMonths    - the number of months kept in memory, at least the three a
+     *                       window may overlap per view showing this source.
+     */
+    public SqliteEventSource(@NonNull SQLiteDatabase database, @NonNull String table,
+                             @NonNull String epochDayColumn, int cacheMonths) {
+        mDatabase = database;
+        mQuery = "SELECT DISTINCT " + epochDayColumn + " FROM " + table +
+                " WHERE " + epochDayColumn + " BETWEEN ? AND ? ORDER BY " + epochDayColumn;
+        mMonths = new LruCache<Integer, int[]>(Math.max(cacheMonths, 3)) {
+            @Override
+            protected void entryRemoved(boolean evicted, Integer key, int[] oldValue, int[] newValue) {
+                mMonthsVersion++;
+            }
+        };
+    }
+
+    /**
+     * Creates the index the range queries rely on, if it does not exist yet.
+     *
+     * @param database       - the database holding the events.
+     * @param table          - the table holding the events.
+     * @param epochDayColumn - the integer column with the epoch day of each event.
+     */
+    public static void createIndex(@NonNull SQLiteDatabase database, @NonNull String table, @NonNull String epochDayColumn) {
+        database.execSQL("CREATE INDEX IF NOT EXISTS " + table + "_" + epochDayColumn +
+                " ON " + table + "(" + epochDayColumn + ")");
+    }
+
+    /**
+     * Drops the cached months and reloads the last window of each model, to be called on the
+     * main thread after the table changed.
+     */
+    public void invalidate() {
+        final List<CalendarModel> models;
+        final List<Window> windows;
+        synchronized (mWindows) {
+            models = new ArrayList<>(mWindows.keySet());
+            windows = new ArrayList<>(mWindows.values());
+        }
+
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                mMonths.evictAll();
+                for (int i = 0; i < models.size(); i++) {
+                    load(models.get(i), windows.get(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the months overlapping the given window, unless it is the last window requested
+     * for the model, and publishes the cached days to the model. Called on the main thread.
+     */
+    void loadWindow(@NonNull final CalendarModel model, int firstEpochDay, int lastEpochDay) {
+        final Window window;
+        synchronized (mWindows) {
+            final Window last = mWindows.get(model);
+            if (null != last && firstEpochDay == last.mFirstEpochDay && lastEpochDay == last.mLastEpochDay) {
+                // Publishing the days refreshes the view, which asks for the same window again..
+                return;
+            }
+
+            window = new Window(firstEpochDay, lastEpochDay);
+            mWindows.put(model, window);
+        }
+
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (isLatest(model, window)) {
+                    load(model, window);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops publishing to the given model, skipping the windows still queued for it, and
+     * removes the days already published. Called on the main thread.
+     */
+    void detach(@NonNull CalendarModel model) {
+        synchronized (mWindows) {
+            mWindows.remove(model);
+            mPublishedVersions.remove(model);
+            model.setSourceDays(null);
+        }
+    }
+
+    private boolean isLatest(CalendarModel model, Window window) {
+        synchronized (mWindows) {
+            return mWindows.get(model) == window;
+        }
+    }
+
+    private void load(CalendarModel model, Window window) {
+        final int firstMonth = getMonthKey(window.mFirstEpochDay);
+        final int lastMonth = getMonthKey(window.mLastEpochDay);
+
+        // One query covers the months missing from the cache, from the first to the last..
+        int firstMissing = Integer.MAX_VALUE;
+        int lastMissing = Integer.MIN_VALUE;
+        for (int month = firstMonth; month <= lastMonth; month++) {
+            if (null == mMonths.get(month)) {
+                firstMissing = Math.min(firstMissing, month);
+                lastMissing = month;
+            }
+        }
+
+        if (firstMissing <= lastMissing) {
+            query(firstMissing, lastMissing);
+        }
+
+        synchronized (mWindows) {
+            final Integer published = mPublishedVersions.get(model);
+            if (null != published && published == mMonthsVersion) {
+                return;
+            }
+        }
+
+        final EventDayFile days = EventDayFile.of(getCachedDays(), null);
+        synchronized (mWindows) {
+            // Checked along with the publication, so a detach cannot slip in between..
+            if (mWindows.get(model) == window) {
+                mPublishedVersions.put(model, mMonthsVersion);
+                model.setSourceDays(days);
+            }
+        }
+    }
+
+    private void query(int firstMonth, int lastMonth) {
+        final int firstEpochDay = EpochDays.of(firstMonth / 12, firstMonth % 12, 1);
+        final int lastEpochDay = EpochDays.of(lastMonth / 12, lastMonth % 12,
+                EpochDays.getDaysInMonth(lastMonth / 12, lastMonth % 12));
+
+        int[] days = new int[64];
+        int count = 0;
+        final Cursor cursor = mDatabase.rawQuery(mQuery,
+                new String[]{String.valueOf(firstEpochDay), String.valueOf(lastEpochDay)});
+        try {
+            while (cursor.moveToNext()) {
+                if (count == days.length) {
+                    days = Arrays.copyOf(days, count * 2);
+                }
+                days[count++] = cursor.getInt(0);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        // Split the sorted days by month, empty months are cached too..
+        int start = 0;
+        for (int month = firstMonth; month <= lastMonth; month++) {
+            int end = start;
+            while (end < count && getMonthKey(days[end]) == month) {
+                end++;
+            }
+            mMonths.put(month, Arrays.copyOfRange(days, start, end));
+            mMonthsVersion++;
+            start = end;
+        }
+    }
+
+    private int[] getCachedDays() {
+        final Map<Integer, int[]> months = mMonths.snapshot();
+        int count = 0;
+        for (int[] days : months.values()) {
+            count += days.length;
+        }
+
+        final int[] cachedDays = new int[count];
+        count = 0;
+        for (int[] days : months.values()) {
+            System.arraycopy(days, 0, cachedDays, count, days.length);
+            count += days.length;
+        }
+
+        // Months are disjoint, so sorting leaves no duplicates..
+        Arrays.sort(cachedDays);
+        return cachedDays;
+    }
+
+    private static int getMonthKey(int epochDay) {
+        return EpochDays.getYear(epochDay) * 12 + EpochDays.getMonth(epochDay);
+    }
+
+    /**
+     * Window of days requested for a model. Holds no reference to the model, which is the
+     * weak key of the window.
+     */
+    private static final class Window {
+        final int mFirstEpochDay;
+        final int mLastEpochDay;
+
+        Window(int firstEpochDay, int lastEpochDay) {
+            mFirstEpochDay = firstEpochDay;
+            mLastEpochDay = lastEpochDay;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.samsistemas.calendarview.utility;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link CalendarUtility#getWeekIndex(int, Calendar)} and
+ * {@link CalendarUtility#getMonthOffset(Calendar, int)} against a Calendar walked back to the
+ * first day of the week, for each of the seven first days of the week.
+ */
+public class CalendarUtilityTest {
+
+    @Test
+    public void weekIndexOfEveryDayOfWeek() {
+        for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+            final Calendar calendar = new GregorianCalendar(2024, Calendar.JANUARY, 1);
+            calendar.setFirstDayOfWeek(firstDayOfWeek);
+
+            for (int day = 0; day < 7; day++) {
+                final int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+                assertEquals("first=" + firstDayOfWeek + " day=" + dayOfWeek,
+                        columnOf(calendar) + 1, CalendarUtility.getWeekIndex(dayOfWeek, calendar));
+                calendar.add(Calendar.DATE, 1);
+            }
+        }
+    }
+
+    @Test
+    public void monthOffsetOfEveryMonth() {
+        for (int firstDayOfWeek = Calendar.SUNDAY; firstDayOfWeek <= Calendar.SATURDAY; firstDayOfWeek++) {
+            for (int month = 0; month < 28 * 12; month++) {
+                // Any day of the month gives the offset of its first day..
+                final Calendar calendar = new GregorianCalendar(2000 + month / 12, month % 12, 1 + month % 28);
+                final Calendar first = new GregorianCalendar(2000 + month / 12, month % 12, 1);
+                first.setFirstDayOfWeek(firstDayOfWeek);
+
+                assertEquals("first=" + firstDayOfWeek + " month=" + month,
+                        columnOf(first), CalendarUtility.getMonthOffset(calendar, firstDayOfWeek));
+            }
+        }
+    }
+
+    /**
+     * @return the number of days from the first day of the week to the day of the calendar.
+     */
+    private static int columnOf(Calendar calendar) {
+        final Calendar walker = (Calendar) calendar.clone();
+        int column = 0;
+        while (walker.get(Calendar.DAY_OF_WEEK) != calendar.getFirstDayOfWeek()) {
+            walker.add(Calendar.DATE, -1);
+            column++;
+        }
+        return column;
+    }
+}
@@ -0,0 +1,40 @@
+package com.samsistemas.calendarview.widget;
+
+import com.samsistemas.calendarview.core.EpochDays;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the days imported by {@link IcsImporter} keep their year in the model.
+ */
+public class IcsImporterTest {
+
+    @Test
+    public void eventOfOneYearDoesNotMarkAnotherYear() throws Exception {
+        final String ics = "BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "DTSTART;VALUE=DATE:20220314\r\n"
+                + "SUMMARY:Once\r\n"
+                + "END:VEVENT\r\n"
+                + "END:VCALENDAR\r\n";
+
+        final CalendarModel model = new CalendarModel();
+        final int eventCount = new IcsImporter(model)
+                .setRange(new GregorianCalendar(2020, 0, 1).getTime(), new GregorianCalendar(2025, 11, 31).getTime())
+                .importEvents(new ByteArrayInputStream(ics.getBytes("UTF-8")));
+
+        final CalendarModel.Snapshot snapshot = model.getSnapshot();
+        assertEquals(1, eventCount);
+        assertTrue(snapshot.hasEvent(EpochDays.of(2022, 2, 14)));
+        assertFalse(snapshot.hasEvent(EpochDays.of(2021, 2, 14)));
+        assertFalse(snapshot.hasEvent(EpochDays.of(2023, 2, 14)));
+        assertEquals(EpochDays.of(2022, 2, 14), snapshot.nextEventDay(EpochDays.of(2020, 0, 1)));
+    }
+}
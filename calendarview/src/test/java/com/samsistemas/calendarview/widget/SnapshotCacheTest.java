@@ -0,0 +1,106 @@
+package com.samsistemas.calendarview.widget;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the {@link SnapshotCache} never hands out a snapshot that is still cached or
+ * pooled, navigating back and forth between months.
+ */
+public class SnapshotCacheTest {
+    private static final int FRAME_BYTES = 100;
+
+    @Test
+    public void snapshotsKeepTheirMonths() {
+        final FrameCache cache = new FrameCache(2 * FRAME_BYTES);
+        final int[] months = {1, 2, 1, 2, 1, 3, 2, 3, 1};
+        final List<Integer> captured = new ArrayList<>();
+
+        for (int month : months) {
+            final Frame frame = cache.obtain(month, 10, 10);
+            assertFalse(frame.mReleased);
+            frame.mMonth = month;
+            cache.put(month, frame);
+            captured.add(month);
+
+            for (int other : captured) {
+                final Frame cached = cache.get(other);
+                if (null != cached) {
+                    assertEquals(other, cached.mMonth);
+                    assertFalse(cached.mReleased);
+                }
+            }
+        }
+
+        assertEquals(1, cache.get(1).mMonth);
+        assertEquals(3, cache.get(3).mMonth);
+        assertNull(cache.get(2));
+        assertTrue(cache.get(1) != cache.get(3));
+    }
+
+    @Test
+    public void releasesEachSnapshotOnce() {
+        final FrameCache cache = new FrameCache(2 * FRAME_BYTES);
+        for (int month = 0; month < 5; month++) {
+            cache.put(month, cache.obtain(month, 10, 10));
+        }
+        // A new size drops the cached snapshot of the month instead of drawing into it..
+        cache.put(4, cache.obtain(4, 20, 20));
+        cache.clear();
+
+        for (Frame frame : cache.mCreated) {
+            assertTrue(frame.mReleased);
+        }
+    }
+
+    private static final class Frame {
+        final int mWidth;
+        final int mHeight;
+        int mMonth;
+        boolean mReleased;
+
+        Frame(int width, int height) {
+            mWidth = width;
+            mHeight = height;
+        }
+    }
+
+    private static final class FrameCache extends SnapshotCache<Frame> {
+        final List<Frame> mCreated = new ArrayList<>();
+
+        FrameCache(int maxBytes) {
+            super(maxBytes);
+        }
+
+        @Override
+        Frame create(int width, int height) {
+            final Frame frame = new Frame(width, height);
+            mCreated.add(frame);
+            return frame;
+        }
+
+        @Override
+        boolean hasSize(Frame snapshot, int width, int height) {
+            return snapshot.mWidth == width && snapshot.mHeight == height;
+        }
+
+        @Override
+        int sizeOf(Frame snapshot) {
+            return FRAME_BYTES;
+        }
+
+        @Override
+        void release(Frame snapshot) {
+            // Each snapshot is released once, never while it is still in use..
+            assertFalse(snapshot.mReleased);
+            snapshot.mReleased = true;
+        }
+    }
+}